@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.AbstractList;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Skeleton of alternative <tt>NumberList</tt> storage backends.<p>
+ *
+ * Provides digit validation, numeric equality, sorting and cyclic shifts
+ * on top of <tt>get</tt>/<tt>set</tt>/<tt>add</tt>/<tt>remove</tt>, and
+ * conversion to <tt>NumberListImpl</tt> for arithmetic.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+abstract class AbstractNumberList extends AbstractList<Byte> implements NumberList {
+
+    final int base;
+
+    AbstractNumberList(int base) {
+        this.base = base;
+    }
+
+
+    /**
+     * Returns string representation of number, stored in the list
+     * in <b>decimal</b> scale of notation.
+     *
+     * @return string representation in <b>decimal</b> scale.
+     */
+    public String toDecimalString() {
+        return NumberListImpl.valueOf(this).toString();
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> with the same digits and base.
+     *
+     * @return copy of the list as <tt>NumberListImpl</tt>.
+     */
+    public NumberListImpl toNumberListImpl() {
+        return NumberListImpl.fromDigits(base, toDigitArray());
+    }
+
+
+    /**
+     * Returns spliterator over a snapshot of the digits, most significant
+     * first. Splits in balanced halves, so <tt>parallelStream()</tt> scales.
+     *
+     * @return spliterator of digits.
+     */
+    @Override
+    public Spliterator<Byte> spliterator() {
+        return new DigitSpliterator.Boxed(new DigitSpliterator(toDigitArray()));
+    }
+
+
+    /**
+     * Returns stream of digits, most significant first, without boxing.
+     * The stream works on a snapshot taken at this call.
+     *
+     * @return stream of digits.
+     */
+    public IntStream digits() {
+        return StreamSupport.intStream(new DigitSpliterator(toDigitArray()), false);
+    }
+
+
+    @Override
+    public boolean add(Byte e) {
+        if (!isValidDigit(e)) {
+            return false;
+        }
+        add(size(), e);
+        return true;
+    }
+
+
+    @Override
+    public boolean swap(int index1, int index2) {
+        if (index1 < 0 || index2 < 0 || index1 >= size() || index2 >= size()) {
+            return false;
+        }
+        if (index1 != index2) {
+            set(index1, set(index2, get(index1)));
+        }
+        return true;
+    }
+
+
+    @Override
+    public void sortAscending() {
+        sortByCounts(true);
+    }
+
+
+    @Override
+    public void sortDescending() {
+        sortByCounts(false);
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        if (size() > 1) {
+            add(remove(0));
+        }
+    }
+
+
+    @Override
+    public void shiftRight() {
+        if (size() > 1) {
+            add(0, remove(size() - 1));
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(size());
+        for (byte d : toDigitArray()) {
+            builder.append(NumberListImpl.digitToChar(d));
+        }
+        return builder.toString();
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NumberList)) {
+            return false;
+        }
+        return NumberListImpl.valueOf(this).equals(NumberListImpl.valueOf((NumberList) o));
+    }
+
+
+    @Override
+    public int hashCode() {
+        return NumberListImpl.valueOf(this).hashCode();
+    }
+
+    // ====================== internal helpers ======================
+
+    /**
+     * Returns digits, most significant first.
+     */
+    byte[] toDigitArray() {
+        byte[] digits = new byte[size()];
+        int i = 0;
+        for (Byte d : this) {
+            digits[i++] = d;
+        }
+        return digits;
+    }
+
+    /**
+     * Counts digits and rewrites the list in sorted order.
+     */
+    void sortByCounts(boolean asc) {
+        int[] counts = new int[base];
+        for (Byte d : this) {
+            counts[d]++;
+        }
+        ListIterator<Byte> it = listIterator();
+        for (int i = 0; i < base; i++) {
+            byte digit = (byte) (asc ? i : base - 1 - i);
+            for (int c = counts[digit]; c > 0; c--) {
+                it.next();
+                it.set(digit);
+            }
+        }
+    }
+
+    boolean isValidDigit(Byte b) {
+        return b != null && b >= 0 && b < base;
+    }
+
+    void checkDigit(Byte b) {
+        if (!isValidDigit(b)) {
+            throw new IllegalArgumentException("Invalid digit for base " + base);
+        }
+    }
+
+    void checkElementIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + " size: " + size());
+        }
+    }
+
+    void checkPositionIndex(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + " size: " + size());
+        }
+    }
+}
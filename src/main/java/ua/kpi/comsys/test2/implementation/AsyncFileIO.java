@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Whole-file reads and writes on <tt>AsynchronousFileChannel</tt>.
+ * Calling thread never blocks on the disk; failures complete the future
+ * exceptionally with the original <tt>IOException</tt>.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class AsyncFileIO {
+
+    private AsyncFileIO() {
+    }
+
+    /**
+     * Reads whole file.
+     *
+     * @param path - file to read.
+     * @return future of file content.
+     */
+    static CompletableFuture<byte[]> read(Path path) {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        ByteBuffer buffer;
+        try {
+            channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                close(channel);
+                throw new IOException("File is too large: " + path);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        channel.read(buffer, 0, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer read, Void attachment) {
+                if (read >= 0 && buffer.hasRemaining()) {
+                    channel.read(buffer, buffer.position(), null, this);
+                    return;
+                }
+                close(channel);
+                byte[] content = buffer.array();
+                if (buffer.hasRemaining()) {
+                    content = Arrays.copyOf(content, buffer.position());
+                }
+                result.complete(content);
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                close(channel);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+
+    /**
+     * Replaces file content.
+     *
+     * @param path - file to write, created if absent.
+     * @param content - new content.
+     * @return future completed when all bytes are written.
+     */
+    static CompletableFuture<Void> write(Path path, byte[] content) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(path, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        if (!buffer.hasRemaining()) {
+            close(channel);
+            result.complete(null);
+            return result;
+        }
+        channel.write(buffer, 0, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer written, Void attachment) {
+                if (buffer.hasRemaining()) {
+                    channel.write(buffer, buffer.position(), null, this);
+                    return;
+                }
+                try {
+                    channel.close();
+                    result.complete(null);
+                } catch (IOException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                close(channel);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    // ====================== internal helpers ======================
+
+    private static void close(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing to report, result is already known
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Single-pass parser of ASCII decimal numbers. Eight characters are
+ * validated and converted at once (SWAR) into base 10<sup>8</sup> limbs,
+ * which are then combined divide-and-conquer with shared powers from
+ * {@link PowerTableCache}.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class DecimalParser {
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final int CHUNK = 8;
+    private static final int LIMB = 100_000_000;
+    private static final int SCHOOLBOOK_LIMBS = 32;
+
+    private DecimalParser() {
+    }
+
+    /**
+     * Parses a non-negative decimal number, ignoring surrounding ASCII
+     * whitespace and control characters (as {@link String#trim()} does).
+     *
+     * @param text - characters of the number.
+     * @return parsed value or <tt>null</tt> when the text is empty, signed
+     * or contains anything except ASCII digits.
+     */
+    static BigInteger parse(byte[] text) {
+        return parse(text, 0, text.length);
+    }
+
+
+    /**
+     * Parses <tt>text[from, to)</tt> the same way as {@link #parse(byte[])}.
+     *
+     * @param text - characters of the number.
+     * @param from - first character, inclusive.
+     * @param to - last character, exclusive.
+     * @return parsed value or <tt>null</tt> if the text is not a number.
+     */
+    static BigInteger parse(byte[] text, int from, int to) {
+        while (from < to && (text[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (text[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        int length = to - from;
+        if (length == 0) {
+            return null;
+        }
+        int[] limbs = new int[(length + CHUNK - 1) / CHUNK];
+        int head = length - (limbs.length - 1) * CHUNK;
+        int value = 0;
+        for (int i = from; i < from + head; i++) {
+            int d = text[i] - '0';
+            if (d < 0 || d > 9) {
+                return null;
+            }
+            value = value * 10 + d;
+        }
+        limbs[0] = value;
+        for (int i = 1, pos = from + head; i < limbs.length; i++, pos += CHUNK) {
+            long chunk = (long) LONGS.get(text, pos);
+            if (!isEightDigits(chunk)) {
+                return null;
+            }
+            limbs[i] = eightDigits(chunk);
+        }
+        return combine(limbs, 0, limbs.length);
+    }
+
+
+    /**
+     * @param text - characters of the number.
+     * @return parsed value or <tt>null</tt> if the text is not a number.
+     */
+    static BigInteger parse(String text) {
+        // non-Latin-1 characters become '?', so they are rejected as well
+        return parse(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    // ====================== internal helpers ======================
+
+    static boolean isEightDigits(long chunk) {
+        return (((chunk + 0x4646464646464646L) | (chunk - 0x3030303030303030L))
+                & 0x8080808080808080L) == 0;
+    }
+
+    static int eightDigits(long chunk) {
+        long v = chunk - 0x3030303030303030L;
+        v = v * 10 + (v >>> 8);
+        v = ((v & 0x000000FF000000FFL) * (100 + (1_000_000L << 32))
+                + ((v >>> 16) & 0x000000FF000000FFL) * (1 + (10_000L << 32))) >>> 32;
+        return (int) v;
+    }
+
+    private static BigInteger combine(int[] limbs, int from, int to) {
+        int count = to - from;
+        if (count <= SCHOOLBOOK_LIMBS) {
+            long acc = 0;
+            int i = from;
+            for (; i < to && acc <= (Long.MAX_VALUE - LIMB) / LIMB; i++) {
+                acc = acc * LIMB + limbs[i];
+            }
+            BigInteger result = BigInteger.valueOf(acc);
+            BigInteger limb = BigInteger.valueOf(LIMB);
+            for (; i < to; i++) {
+                result = result.multiply(limb).add(BigInteger.valueOf(limbs[i]));
+            }
+            return result;
+        }
+        int level = 31 - Integer.numberOfLeadingZeros(count - 1);
+        int mid = to - (1 << level);
+        BigInteger high = combine(limbs, from, mid);
+        BigInteger low = combine(limbs, mid, to);
+        return high.multiply(PowerTableCache.power(LIMB, level)).add(low);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+
+/**
+ * Positions of each digit value in a list, stored as one bitset per
+ * digit, with per-digit counts.<p>
+ *
+ * Lookups scan 64 positions per word, insertion and removal in the middle
+ * shift the bitsets by one position.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class DigitIndex {
+
+    private final long[][] bits;
+    private final int[] counts;
+    private int size;
+
+    DigitIndex(int base, byte[] digits) {
+        this.bits = new long[base][(digits.length >>> 6) + 1];
+        this.counts = new int[base];
+        for (byte d : digits) {
+            append(d);
+        }
+    }
+
+    int count(int digit) {
+        return counts[digit];
+    }
+
+    int indexOf(int digit) {
+        if (counts[digit] == 0) {
+            return -1;
+        }
+        long[] words = bits[digit];
+        for (int w = 0; ; w++) {
+            if (words[w] != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(words[w]);
+            }
+        }
+    }
+
+    int lastIndexOf(int digit) {
+        if (counts[digit] == 0) {
+            return -1;
+        }
+        long[] words = bits[digit];
+        for (int w = (size - 1) >>> 6; ; w--) {
+            if (words[w] != 0) {
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(words[w]);
+            }
+        }
+    }
+
+    void set(int pos, int oldDigit, int newDigit) {
+        bits[oldDigit][pos >>> 6] &= ~(1L << pos);
+        bits[newDigit][pos >>> 6] |= 1L << pos;
+        counts[oldDigit]--;
+        counts[newDigit]++;
+    }
+
+    void append(int digit) {
+        ensureCapacity(size + 1);
+        bits[digit][size >>> 6] |= 1L << size;
+        counts[digit]++;
+        size++;
+    }
+
+    void insert(int pos, int digit) {
+        ensureCapacity(size + 1);
+        int last = size >>> 6;
+        int first = pos >>> 6;
+        long low = (1L << pos) - 1;
+        for (int d = 0; d < bits.length; d++) {
+            if (counts[d] == 0) {
+                continue;
+            }
+            long[] words = bits[d];
+            for (int w = last; w > first; w--) {
+                words[w] = (words[w] << 1) | (words[w - 1] >>> 63);
+            }
+            words[first] = (words[first] & low) | ((words[first] & ~low) << 1);
+        }
+        bits[digit][first] |= 1L << pos;
+        counts[digit]++;
+        size++;
+    }
+
+    void remove(int pos, int digit) {
+        int first = pos >>> 6;
+        int last = (size - 1) >>> 6;
+        long low = (1L << pos) - 1;
+        bits[digit][first] &= ~(1L << pos);
+        counts[digit]--;
+        for (int d = 0; d < bits.length; d++) {
+            long[] words = bits[d];
+            if (counts[d] == 0) {
+                continue;
+            }
+            long carry = first < last ? words[first + 1] << 63 : 0;
+            words[first] = (words[first] & low) | ((words[first] >>> 1) & ~low) | carry;
+            for (int w = first + 1; w <= last; w++) {
+                words[w] = (words[w] >>> 1) | (w < last ? words[w + 1] << 63 : 0);
+            }
+        }
+        size--;
+    }
+
+    void clear() {
+        for (long[] words : bits) {
+            Arrays.fill(words, 0);
+        }
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    private void ensureCapacity(int positions) {
+        int words = ((positions - 1) >>> 6) + 1;
+        if (words > bits[0].length) {
+            int length = Math.max(words, bits[0].length * 2);
+            for (int d = 0; d < bits.length; d++) {
+                bits[d] = Arrays.copyOf(bits[d], length);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+/**
+ * Data-parallel kernels over packed digit arrays.<p>
+ *
+ * Implementation is selected once at runtime: the Vector API one if the
+ * <tt>jdk.incubator.vector</tt> module is available, otherwise the scalar
+ * one. Scalar kernels can be forced with system property
+ * <tt>ua.kpi.comsys.test2.kernels=scalar</tt>.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+interface DigitKernels {
+
+    String PROPERTY = "ua.kpi.comsys.test2.kernels";
+
+    /**
+     * Returns kernels selected for this JVM.
+     */
+    static DigitKernels get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Tells whether all digits in range are in <tt>[0, base)</tt>.
+     */
+    boolean allBelow(byte[] digits, int from, int to, int base);
+
+    /**
+     * Returns index of the first occurrence of digit in range, or -1.
+     */
+    int indexOf(byte[] digits, int from, int to, byte digit);
+
+    /**
+     * Returns index of the last occurrence of digit in range, or -1.
+     */
+    int lastIndexOf(byte[] digits, int from, int to, byte digit);
+
+    /**
+     * Adds number of occurrences of each digit in range to counts.
+     */
+    void count(byte[] digits, int from, int to, int[] counts);
+
+    /**
+     * Stores digit-wise AND of first <tt>length</tt> digits into result.
+     */
+    void and(byte[] a, byte[] b, byte[] result, int length);
+
+    /**
+     * Stores digit-wise OR of first <tt>length</tt> digits into result.
+     */
+    void or(byte[] a, byte[] b, byte[] result, int length);
+
+    /**
+     * Returns number of zero digits at the start of range.
+     */
+    int leadingZeros(byte[] digits, int from, int to);
+
+    final class Holder {
+        static final DigitKernels INSTANCE = load();
+
+        private Holder() {
+        }
+
+        private static DigitKernels load() {
+            if (!"scalar".equals(System.getProperty(PROPERTY))
+                    && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    return (DigitKernels) Class.forName(DigitKernels.class.getPackageName() + ".VectorDigitKernels")
+                            .getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    // fall back to scalar kernels
+                }
+            }
+            return new ScalarDigitKernels();
+        }
+    }
+}
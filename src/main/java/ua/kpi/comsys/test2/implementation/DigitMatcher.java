@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+/**
+ * Knuth-Morris-Pratt matcher of a digit pattern, fed with text digits
+ * one at a time.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class DigitMatcher {
+
+    private final byte[] pattern;
+    private final int[] failure;
+    private int matched;
+
+    DigitMatcher(byte[] pattern) {
+        this.pattern = pattern;
+        this.failure = new int[pattern.length];
+        for (int i = 1, k = 0; i < pattern.length; i++) {
+            while (k > 0 && pattern[i] != pattern[k]) {
+                k = failure[k - 1];
+            }
+            if (pattern[i] == pattern[k]) {
+                k++;
+            }
+            failure[i] = k;
+        }
+    }
+
+    int length() {
+        return pattern.length;
+    }
+
+    /**
+     * Consumes next digit of the text.
+     *
+     * @return <tt>true</tt> if an occurrence of the pattern ends at this digit.
+     */
+    boolean feed(byte digit) {
+        if (pattern.length == 0) {
+            return true;
+        }
+        while (matched > 0 && (matched == pattern.length || pattern[matched] != digit)) {
+            matched = failure[matched - 1];
+        }
+        if (pattern[matched] == digit) {
+            matched++;
+        }
+        return matched == pattern.length;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Spliterator over a snapshot of list digits. Splits exactly in halves,
+ * so parallel streams get balanced work without walking the nodes.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class DigitSpliterator implements Spliterator.OfInt {
+
+    static final int CHARACTERISTICS = SIZED | SUBSIZED | ORDERED | NONNULL | IMMUTABLE;
+
+    private final byte[] digits;
+    private int index;
+    private final int fence;
+
+    DigitSpliterator(byte[] digits) {
+        this(digits, 0, digits.length);
+    }
+
+    private DigitSpliterator(byte[] digits, int index, int fence) {
+        this.digits = digits;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        int mid = (index + fence) >>> 1;
+        if (mid <= index) {
+            return null;
+        }
+        DigitSpliterator prefix = new DigitSpliterator(digits, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(digits[index++]);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        for (int i = index; i < fence; i++) {
+            action.accept(digits[i]);
+        }
+        index = fence;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    /**
+     * Boxed view for <tt>List.spliterator()</tt>.
+     */
+    static final class Boxed implements Spliterator<Byte> {
+
+        private final OfInt digits;
+
+        Boxed(OfInt digits) {
+            this.digits = digits;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Byte> action) {
+            return digits.tryAdvance((IntConsumer) d -> action.accept((byte) d));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Byte> action) {
+            digits.forEachRemaining((IntConsumer) d -> action.accept((byte) d));
+        }
+
+        @Override
+        public Spliterator<Byte> trySplit() {
+            OfInt prefix = digits.trySplit();
+            return prefix == null ? null : new Boxed(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return digits.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * <tt>NumberList</tt> in a power-of-two scale of notation, which stores
+ * the number as little-endian 64-bit limbs.<p>
+ *
+ * Digit <tt>i</tt> occupies <tt>log2(base)</tt> bits at position
+ * <tt>(size - 1 - i) * log2(base)</tt>, so <tt>get</tt> and <tt>set</tt>
+ * are a shift and a mask, insertions and removals shift the words above
+ * the digit. Conversion to the numeric value and change of power-of-two
+ * scale of notation are word copies, arithmetic runs on whole words.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public class LimbNumberList extends AbstractNumberList {
+
+    private final int bits;
+    private final long mask;
+    private long[] limbs = new long[1];
+    private int size;
+
+    /**
+     * Default constructor. Returns empty list in the main scale of notation.
+     *
+     * @throws IllegalStateException if the main base is not a power of two.
+     */
+    public LimbNumberList() {
+        this(checkedMainBase());
+    }
+
+
+    /**
+     * Constructs new <tt>LimbNumberList</tt> by <b>decimal</b> number
+     * in string notation.
+     *
+     * @param value - number in string notation.
+     * @throws IllegalStateException if the main base is not a power of two.
+     */
+    public LimbNumberList(String value) {
+        this();
+        BigInteger number = value == null ? null : DecimalParser.parse(value);
+        if (number != null) {
+            assign(number);
+        }
+    }
+
+
+    /**
+     * Returns new <tt>LimbNumberList</tt> with the same digits and base as
+     * the argument.
+     *
+     * @param list - list to copy
+     * @return copy of the list.
+     * @throws IllegalArgumentException if base of the list is not a power
+     * of two.
+     */
+    public static LimbNumberList of(NumberList list) {
+        int base = NumberListImpl.baseOf(list);
+        if (NumberListImpl.bitsPerDigit(base) < 0) {
+            throw new IllegalArgumentException("Base is not a power of two: " + base);
+        }
+        LimbNumberList result = new LimbNumberList(base);
+        byte[] digits = NumberListImpl.digitsOf(list);
+        result.ensureCapacity(digits.length);
+        result.size = digits.length;
+        for (int i = 0; i < digits.length; i++) {
+            result.putDigit(result.position(i), digits[i]);
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns new list which represents the same number in other scale of
+     * notation, defined by personal test assignment. For power-of-two
+     * bases limbs are copied as they are and only regrouped into digits.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @return <tt>LimbNumberList</tt> if the additional base is a power of
+     * two, otherwise <tt>NumberListImpl</tt>.
+     */
+    public NumberList changeScale() {
+        int targetBase = NumberListImpl.determineAdditionalBase();
+        if (NumberListImpl.bitsPerDigit(targetBase) < 0) {
+            return NumberListImpl.fromBigInteger(targetBase, toBigInteger());
+        }
+        LimbNumberList result = new LimbNumberList(targetBase);
+        int used = significantBits();
+        result.size = Math.max(1, (used + result.bits - 1) / result.bits);
+        result.limbs = Arrays.copyOf(limbs, Math.max(1, words((long) result.size * result.bits)));
+        return result;
+    }
+
+
+    /**
+     * Returns new <tt>LimbNumberList</tt> which represents the result of
+     * additional operation, defined by personal test assignment. Factors
+     * are multiplied on whole words.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param arg - second argument of additional operation
+     * @return result of additional operation.
+     */
+    public LimbNumberList additionalOperation(NumberList arg) {
+        LimbNumberList result = new LimbNumberList(base);
+        if (arg == null) {
+            return result;
+        }
+        result.assign(toBigInteger().multiply(NumberListImpl.valueOf(arg)));
+        return result;
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        checkElementIndex(index);
+        return (byte) digitAt(position(index));
+    }
+
+
+    @Override
+    public Byte set(int index, Byte element) {
+        checkDigit(element);
+        checkElementIndex(index);
+        long pos = position(index);
+        byte old = (byte) digitAt(pos);
+        putDigit(pos, element);
+        return old;
+    }
+
+
+    @Override
+    public void add(int index, Byte element) {
+        checkDigit(element);
+        checkPositionIndex(index);
+        ensureCapacity(size + 1);
+        long pos = (long) (size - index) * bits;
+        openGap(pos);
+        putDigit(pos, element);
+        size++;
+        modCount++;
+    }
+
+
+    @Override
+    public Byte remove(int index) {
+        checkElementIndex(index);
+        long pos = position(index);
+        byte old = (byte) digitAt(pos);
+        closeGap(pos);
+        size--;
+        modCount++;
+        return old;
+    }
+
+
+    @Override
+    public void clear() {
+        limbs = new long[1];
+        size = 0;
+        modCount++;
+    }
+
+    // ====================== internal helpers ======================
+
+    LimbNumberList(int base) {
+        super(base);
+        this.bits = NumberListImpl.bitsPerDigit(base);
+        if (bits < 0) {
+            throw new IllegalArgumentException("Base is not a power of two: " + base);
+        }
+        this.mask = (1L << bits) - 1;
+    }
+
+    int limbCount() {
+        return words((long) size * bits);
+    }
+
+    /**
+     * Returns numeric value, magnitude is built from the limbs directly.
+     */
+    BigInteger toBigInteger() {
+        int words = limbCount();
+        byte[] magnitude = new byte[words * 8];
+        for (int w = 0; w < words; w++) {
+            long limb = limbs[w];
+            int at = magnitude.length - 1 - w * 8;
+            for (int b = 0; b < 8; b++) {
+                magnitude[at - b] = (byte) (limb >>> (b * 8));
+            }
+        }
+        return new BigInteger(1, magnitude);
+    }
+
+    @Override
+    byte[] toDigitArray() {
+        byte[] digits = new byte[size];
+        for (int i = 0; i < size; i++) {
+            digits[i] = (byte) digitAt(position(i));
+        }
+        return digits;
+    }
+
+    @Override
+    void sortByCounts(boolean asc) {
+        int[] counts = new int[base];
+        for (int i = 0; i < size; i++) {
+            counts[digitAt(position(i))]++;
+        }
+        int index = 0;
+        for (int i = 0; i < base; i++) {
+            int digit = asc ? i : base - 1 - i;
+            for (int c = counts[digit]; c > 0; c--) {
+                putDigit(position(index++), digit);
+            }
+        }
+        modCount++;
+    }
+
+    private static int checkedMainBase() {
+        int base = NumberListImpl.determineMainBase();
+        if (NumberListImpl.bitsPerDigit(base) < 0) {
+            throw new IllegalStateException("Main base is not a power of two: " + base);
+        }
+        return base;
+    }
+
+    private void assign(BigInteger number) {
+        int used = number.bitLength();
+        size = Math.max(1, (used + bits - 1) / bits);
+        limbs = new long[Math.max(1, words((long) size * bits))];
+        byte[] magnitude = number.toByteArray();
+        for (int i = 0; i < magnitude.length && i < limbs.length * 8; i++) {
+            long b = magnitude[magnitude.length - 1 - i] & 0xFFL;
+            limbs[i >>> 3] |= b << ((i & 7) * 8);
+        }
+    }
+
+    private int significantBits() {
+        for (int w = limbCount() - 1; w >= 0; w--) {
+            if (limbs[w] != 0) {
+                return w * 64 + 64 - Long.numberOfLeadingZeros(limbs[w]);
+            }
+        }
+        return 0;
+    }
+
+    private static int words(long bitCount) {
+        return (int) ((bitCount + 63) >>> 6);
+    }
+
+    private long position(int index) {
+        return (long) (size - 1 - index) * bits;
+    }
+
+    private void ensureCapacity(int digits) {
+        int needed = words((long) digits * bits);
+        if (needed > limbs.length) {
+            limbs = Arrays.copyOf(limbs, Math.max(needed, limbs.length * 2));
+        }
+    }
+
+    private int digitAt(long pos) {
+        int w = (int) (pos >>> 6);
+        int o = (int) (pos & 63);
+        long value = limbs[w] >>> o;
+        if (o + bits > 64) {
+            value |= limbs[w + 1] << (64 - o);
+        }
+        return (int) (value & mask);
+    }
+
+    private void putDigit(long pos, int digit) {
+        int w = (int) (pos >>> 6);
+        int o = (int) (pos & 63);
+        limbs[w] = (limbs[w] & ~(mask << o)) | ((long) digit << o);
+        if (o + bits > 64) {
+            int high = 64 - o;
+            limbs[w + 1] = (limbs[w + 1] & ~(mask >>> high)) | ((long) digit >>> high);
+        }
+    }
+
+    /**
+     * Moves all bits from <tt>pos</tt> upwards by one digit.
+     */
+    private void openGap(long pos) {
+        int w = (int) (pos >>> 6);
+        long low = lowBits(limbs[w], (int) (pos & 63));
+        for (int k = limbs.length - 1; k > w; k--) {
+            limbs[k] = (limbs[k] << bits) | (limbs[k - 1] >>> (64 - bits));
+        }
+        limbs[w] = (limbs[w] << bits) & ~lowMask((int) (pos & 63)) | low;
+    }
+
+    /**
+     * Moves all bits above the digit at <tt>pos</tt> downwards by one digit.
+     */
+    private void closeGap(long pos) {
+        int w = (int) (pos >>> 6);
+        long low = lowBits(limbs[w], (int) (pos & 63));
+        for (int k = w; k < limbs.length; k++) {
+            long next = k + 1 < limbs.length ? limbs[k + 1] << (64 - bits) : 0;
+            limbs[k] = (limbs[k] >>> bits) | next;
+        }
+        limbs[w] = limbs[w] & ~lowMask((int) (pos & 63)) | low;
+    }
+
+    private static long lowMask(int count) {
+        return count == 0 ? 0 : -1L >>> (64 - count);
+    }
+
+    private static long lowBits(long word, int count) {
+        return word & lowMask(count);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+/**
+ * Snapshot of node pool statistics of a single <tt>NumberListImpl</tt>.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public final class NodePoolStats {
+
+    private final long hits;
+    private final long misses;
+    private final long recycled;
+    private final long discarded;
+    private final int free;
+
+    NodePoolStats(long hits, long misses, long recycled, long discarded, int free) {
+        this.hits = hits;
+        this.misses = misses;
+        this.recycled = recycled;
+        this.discarded = discarded;
+        this.free = free;
+    }
+
+    /**
+     * @return number of nodes taken from the pool.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of nodes allocated because the pool was empty.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return number of unlinked nodes returned to the pool.
+     */
+    public long getRecycled() {
+        return recycled;
+    }
+
+    /**
+     * @return number of unlinked nodes dropped because the pool was full.
+     */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * @return number of nodes currently in the pool.
+     */
+    public int getFree() {
+        return free;
+    }
+
+    /**
+     * @return share of node requests served by the pool, <tt>0</tt> if there were none.
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "NodePoolStats[hits=" + hits + ", misses=" + misses + ", recycled=" + recycled
+                + ", discarded=" + discarded + ", free=" + free + "]";
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Deferred expression over <tt>NumberList</tt> operands.<p>
+ *
+ * Building an expression doesn't compute anything:
+ * <tt>NumberExpr.of(a).times(b).times(c).inBase(2).evaluate()</tt>
+ * converts every distinct operand to its value once, in parallel for large
+ * operands, multiplies all factors as one balanced product tree, and
+ * creates only the final list. Multiplication is associative, so nested
+ * products are flattened and intermediate changes of scale of notation
+ * are dropped: only the base of the whole expression matters.<p>
+ *
+ * Expressions are immutable and may be shared. Operands are read at
+ * {@link #evaluate()}, so later changes of the lists are visible.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public final class NumberExpr {
+
+    private static final int MAX_BASE = 16;
+    private static final int PARALLEL_THRESHOLD_DIGITS = 1 << 12;
+
+    /** operands of the product, a single one for plain operand */
+    private final List<NumberList> factors;
+    private final int base;
+
+    private NumberExpr(List<NumberList> factors, int base) {
+        this.factors = factors;
+        this.base = base;
+    }
+
+    /**
+     * Returns expression which represents the number, stored in the list,
+     * in its scale of notation.
+     *
+     * @param list - operand.
+     * @return new expression.
+     */
+    public static NumberExpr of(NumberList list) {
+        if (list == null) {
+            throw new NullPointerException();
+        }
+        return new NumberExpr(Collections.singletonList(list), NumberListImpl.baseOf(list));
+    }
+
+
+    /**
+     * Returns expression which multiplies this one by the list, like
+     * <tt>additionalOperation</tt>. The base of the expression is kept.
+     *
+     * @param arg - second factor.
+     * @return new expression.
+     */
+    public NumberExpr times(NumberList arg) {
+        return times(of(arg));
+    }
+
+
+    /**
+     * Returns expression which multiplies this one by another expression.
+     * The base of this expression is kept.
+     *
+     * @param arg - second factor.
+     * @return new expression.
+     */
+    public NumberExpr times(NumberExpr arg) {
+        List<NumberList> all = new ArrayList<>(factors.size() + arg.factors.size());
+        all.addAll(factors);
+        all.addAll(arg.factors);
+        return new NumberExpr(Collections.unmodifiableList(all), base);
+    }
+
+
+    /**
+     * Returns the same expression, evaluated in the given scale of notation.
+     *
+     * @param base - scale of notation of the result, from 2 to 16.
+     * @return new expression.
+     */
+    public NumberExpr inBase(int base) {
+        if (base < 2 || base > MAX_BASE) {
+            throw new IllegalArgumentException("Unsupported base: " + base);
+        }
+        return new NumberExpr(factors, base);
+    }
+
+
+    /**
+     * Returns the same expression in other scale of notation, defined by
+     * personal test assignment, like <tt>changeScale</tt>.
+     *
+     * @return new expression.
+     */
+    public NumberExpr changeScale() {
+        return inBase(NumberListImpl.determineAdditionalBase());
+    }
+
+
+    /**
+     * Returns scale of notation of the result.
+     *
+     * @return base of the expression.
+     */
+    public int getBase() {
+        return base;
+    }
+
+
+    /**
+     * Computes the expression.
+     *
+     * @return new list with the result.
+     */
+    public NumberListImpl evaluate() {
+        NumberListEvent event = NumberListEvent.start("evaluate", base);
+        Map<NumberList, BigInteger> values = new IdentityHashMap<>();
+        long digits = 0;
+        for (NumberList factor : factors) {
+            if (!values.containsKey(factor)) {
+                values.put(factor, null);
+                digits += factor.size();
+            }
+        }
+        List<NumberList> distinct = new ArrayList<>(values.keySet());
+        BigInteger[] converted;
+        if (distinct.size() > 1 && digits >= PARALLEL_THRESHOLD_DIGITS) {
+            converted = distinct.parallelStream().map(NumberListImpl::valueOf).toArray(BigInteger[]::new);
+        } else {
+            converted = distinct.stream().map(NumberListImpl::valueOf).toArray(BigInteger[]::new);
+        }
+        for (int i = 0; i < converted.length; i++) {
+            values.put(distinct.get(i), converted[i]);
+        }
+
+        BigInteger[] operands = new BigInteger[factors.size()];
+        for (int i = 0; i < operands.length; i++) {
+            operands[i] = values.get(factors.get(i));
+        }
+        BigInteger value = operands.length == 1 ? operands[0] : NumberListImpl.multiplyAll(operands);
+        NumberListImpl result = NumberListImpl.fromBigInteger(base, value);
+        event.finish((int) Math.min(digits, Integer.MAX_VALUE), result.size(), 0);
+        return result;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executor for batches of independent <tt>NumberListImpl</tt> jobs.<p>
+ *
+ * I/O-bound jobs (reading, converting and saving files) run on virtual
+ * threads, CPU-bound jobs (<tt>changeScale</tt>, <tt>additionalOperation</tt>)
+ * run on a bounded <tt>ForkJoinPool</tt>. Number of submitted but not yet
+ * completed jobs is limited: submission blocks the caller until a slot is
+ * free. A job may submit follow-up jobs to the same batch; if no slot is
+ * free then, the follow-up job runs on the submitting thread instead of
+ * blocking it, so a full batch can't deadlock its own workers.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public class NumberListBatch implements AutoCloseable {
+
+    /**
+     * Kind of job, defines executor it runs on.
+     */
+    public enum Kind {
+        IO,
+        CPU
+    }
+
+    private final ExecutorService ioExecutor;
+    private final ForkJoinPool cpuPool;
+    private final Semaphore inFlight;
+    private final ThreadLocal<Boolean> inJob = new ThreadLocal<>();
+
+    /**
+     * Constructs batch executor with CPU parallelism equal to number of
+     * available processors and in-flight limit of four jobs per processor.
+     */
+    public NumberListBatch() {
+        this(Runtime.getRuntime().availableProcessors() * 4, Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Constructs batch executor.
+     *
+     * @param maxInFlight - maximum number of submitted but not completed jobs
+     * @param cpuParallelism - number of threads for CPU-bound jobs
+     */
+    public NumberListBatch(int maxInFlight, int cpuParallelism) {
+        if (maxInFlight < 1 || cpuParallelism < 1) {
+            throw new IllegalArgumentException("Limits must be positive");
+        }
+        this.ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.cpuPool = new ForkJoinPool(cpuParallelism);
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+
+    /**
+     * Submits single job. Blocks while the in-flight limit is reached,
+     * unless called from a job of this batch: then the job is run on the
+     * calling thread and the returned future is already completed.
+     *
+     * @param kind - kind of job
+     * @param job - job to run
+     * @return future completed with result of the job or with its exception.
+     */
+    public <T> CompletableFuture<T> submit(Kind kind, Callable<? extends T> job) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (inJob.get() != null) {
+            if (!inFlight.tryAcquire()) {
+                call(job, future);
+                return future;
+            }
+        } else {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+                return future;
+            }
+        }
+        Runnable task = () -> {
+            inJob.set(Boolean.TRUE);
+            try {
+                call(job, future);
+            } finally {
+                inJob.remove();
+                inFlight.release();
+            }
+        };
+        try {
+            (kind == Kind.IO ? ioExecutor : cpuPool).execute(task);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+
+    /**
+     * Submits all jobs in iteration order. Blocks while the in-flight
+     * limit is reached.
+     *
+     * @param kind - kind of jobs
+     * @param jobs - jobs to run
+     * @return futures in order of jobs.
+     */
+    public <T> List<CompletableFuture<T>> submitAll(Kind kind, Collection<? extends Callable<? extends T>> jobs) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(jobs.size());
+        for (Callable<? extends T> job : jobs) {
+            futures.add(submit(kind, job));
+        }
+        return futures;
+    }
+
+
+    /**
+     * Submits CPU-bound <tt>changeScale</tt> job.
+     *
+     * @param list - list to convert
+     * @return future of converted list.
+     */
+    public CompletableFuture<NumberListImpl> changeScale(NumberListImpl list) {
+        return submit(Kind.CPU, list::changeScale);
+    }
+
+
+    /**
+     * Submits CPU-bound <tt>additionalOperation</tt> job.
+     *
+     * @param left - first argument
+     * @param right - second argument
+     * @return future of the operation result.
+     */
+    public CompletableFuture<NumberListImpl> additionalOperation(NumberListImpl left, NumberListImpl right) {
+        return submit(Kind.CPU, () -> left.additionalOperation(right));
+    }
+
+
+    /**
+     * Waits for submitted jobs and releases threads.
+     */
+    @Override
+    public void close() {
+        ioExecutor.close();
+        cpuPool.close();
+    }
+
+    // ====================== internal helpers ======================
+
+    private static <T> void call(Callable<? extends T> job, CompletableFuture<T> future) {
+        try {
+            future.complete(job.call());
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+}
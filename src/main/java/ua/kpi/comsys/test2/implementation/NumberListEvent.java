@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event, emitted around expensive
+ * <tt>NumberListImpl</tt> operations.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+@Name("ua.kpi.comsys.test2.NumberListOperation")
+@Label("NumberList Operation")
+@Category("NumberList")
+@Description("Conversion, arithmetic, sorting or file I/O of a NumberListImpl")
+public final class NumberListEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Base")
+    int base;
+
+    @Label("Input Digits")
+    int inputDigits;
+
+    @Label("Output Digits")
+    int outputDigits;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    // ====================== internal helpers ======================
+
+    static NumberListEvent start(String operation, int base) {
+        NumberListEvent event = new NumberListEvent();
+        event.operation = operation;
+        event.base = base;
+        event.begin();
+        return event;
+    }
+
+    void finish(int inputDigits, int outputDigits, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.inputDigits = inputDigits;
+            this.outputDigits = outputDigits;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
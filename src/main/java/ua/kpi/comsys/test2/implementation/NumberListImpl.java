@@ -9,33 +9,70 @@ package ua.kpi.comsys.test2.implementation;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 import ua.kpi.comsys.test2.NumberList;
 
 /**
  * Custom implementation of INumberList interface.
- * Has to be implemented by each student independently.
+ * Has to be implemented by each student independently.<p>
+ *
+ * Serialized form is base, number of digits and the digits packed two
+ * per byte, see {@link #encode()}.
  *
  * @author Zernyshkin Illia Denisovich, IO-34, №3404
  *
  */
-public class NumberListImpl implements NumberList {
+public class NumberListImpl implements NumberList, Comparable<NumberList>, Serializable {
+
+    /**
+     * Text format of files for <tt>loadAsync</tt>/<tt>saveAsync</tt>.
+     */
+    public enum Format {
+        /** digits in <b>decimal</b> scale of notation */
+        DECIMAL,
+        /** digits in the main scale of notation of the list */
+        NATIVE
+    }
 
+    private static final long serialVersionUID = 1L;
     private static final int RECORD_BOOK_NUMBER = 3404;
     private static final int[] BASES = {2, 3, 8, 10, 16};
+    private static final int SCHOOLBOOK_DIGITS = 64;
+    /** <tt>set</tt>/<tt>swap</tt> updates of the known value between reads */
+    private static final int MAX_VALUE_UPDATES = 16;
 
     private final int base;
-    private Node head;
-    private int size;
+    private transient Node head;
+    private transient int size;
+    private transient NodePool pool;
+    private transient DigitIndex digitIndex;
+    private transient boolean frozen;
+    /** numeric value of the digits, <tt>null</tt> until computed */
+    private transient volatile NumericValue numericValue;
+
+    private static volatile ResultCache resultCache;
 
     /**
      * Default constructor. Returns empty <tt>NumberListImpl</tt>
@@ -56,12 +93,16 @@ public class NumberListImpl implements NumberList {
         if (file == null || !file.exists()) {
             return;
         }
+        NumberListEvent event = NumberListEvent.start("read", base);
+        long bytes = 0;
         try {
-            String content = Files.readString(file.toPath(), StandardCharsets.UTF_8).trim();
-            loadFromDecimalString(content);
+            byte[] content = Files.readAllBytes(file.toPath());
+            bytes = content.length;
+            populateFromBigInteger(DecimalParser.parse(content));
         } catch (IOException e) {
             // leave list empty
         }
+        event.finish(0, size, bytes);
     }
 
 
@@ -87,11 +128,126 @@ public class NumberListImpl implements NumberList {
         if (file == null) {
             return;
         }
+        NumberListEvent event = NumberListEvent.start("write", base);
+        long bytes = 0;
         try {
-            Files.writeString(file.toPath(), toDecimalString(), StandardCharsets.UTF_8);
+            String content = toDecimalString();
+            bytes = content.length();
+            Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
         } catch (IOException e) {
             // ignore silently
         }
+        event.finish(size, 0, bytes);
+    }
+
+
+    /**
+     * Loads <b>decimal</b> number from file without blocking the caller.
+     *
+     * @param path - file where number is stored.
+     * @return future of the list. Completes exceptionally with
+     * <tt>IOException</tt> if the file can't be read and with
+     * <tt>NumberFormatException</tt> if it doesn't hold a number.
+     */
+    public static CompletableFuture<NumberListImpl> loadAsync(Path path) {
+        return loadAsync(path, Format.DECIMAL);
+    }
+
+
+    /**
+     * Loads number in the given text format from file without blocking
+     * the caller. The content is parsed in the common fork-join pool.
+     *
+     * @param path - file where number is stored.
+     * @param format - scale of notation of the file content.
+     * @return future of the list. Completes exceptionally with
+     * <tt>IOException</tt> if the file can't be read and with
+     * <tt>NumberFormatException</tt> if it doesn't hold a number.
+     */
+    public static CompletableFuture<NumberListImpl> loadAsync(Path path, Format format) {
+        return loadAsync(path, format, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Loads number in the given text format from file without blocking
+     * the caller. The content is parsed by <tt>executor</tt>, never on
+     * the I/O completion thread, which is shared by all file channels.
+     *
+     * @param path - file where number is stored.
+     * @param format - scale of notation of the file content.
+     * @param executor - executor which parses the content.
+     * @return future of the list. Completes exceptionally with
+     * <tt>IOException</tt> if the file can't be read and with
+     * <tt>NumberFormatException</tt> if it doesn't hold a number.
+     */
+    public static CompletableFuture<NumberListImpl> loadAsync(Path path, Format format, Executor executor) {
+        if (path == null || format == null || executor == null) {
+            throw new NullPointerException();
+        }
+        int base = determineMainBase();
+        NumberListEvent event = NumberListEvent.start("read", base);
+        return AsyncFileIO.read(path).thenApplyAsync(content -> {
+            NumberListImpl result = format == Format.DECIMAL
+                    ? parseDecimal(base, content)
+                    : parseNative(base, content);
+            event.finish(0, result.size, content.length);
+            return result;
+        }, executor);
+    }
+
+
+    /**
+     * Saves the number in <b>decimal</b> scale of notation without
+     * blocking the caller. The digits are captured at the call, later
+     * changes of the list don't affect the file.
+     *
+     * @param path - file where number has to be stored.
+     * @return future completed when the file is written, or exceptionally
+     * with <tt>IOException</tt>.
+     */
+    public CompletableFuture<Void> saveAsync(Path path) {
+        return saveAsync(path, Format.DECIMAL);
+    }
+
+
+    /**
+     * Saves the number in the given text format without blocking the
+     * caller. The digits are captured at the call and formatted in the
+     * common fork-join pool.
+     *
+     * @param path - file where number has to be stored.
+     * @param format - scale of notation of the file content.
+     * @return future completed when the file is written, or exceptionally
+     * with <tt>IOException</tt>.
+     */
+    public CompletableFuture<Void> saveAsync(Path path, Format format) {
+        return saveAsync(path, format, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Saves the number in the given text format without blocking the
+     * caller. Only a linear copy of the digits is made at the call, the
+     * conversion to text is done by <tt>executor</tt>.
+     *
+     * @param path - file where number has to be stored.
+     * @param format - scale of notation of the file content.
+     * @param executor - executor which formats the content.
+     * @return future completed when the file is written, or exceptionally
+     * with <tt>IOException</tt>.
+     */
+    public CompletableFuture<Void> saveAsync(Path path, Format format, Executor executor) {
+        if (path == null || format == null || executor == null) {
+            throw new NullPointerException();
+        }
+        NumberListEvent event = NumberListEvent.start("write", base);
+        NumberListImpl snapshot = copy();
+        return CompletableFuture.supplyAsync(() -> {
+            String text = format == Format.DECIMAL ? snapshot.toDecimalString() : snapshot.toString();
+            return text.getBytes(StandardCharsets.US_ASCII);
+        }, executor).thenCompose(content -> AsyncFileIO.write(path, content)
+                .thenRun(() -> event.finish(snapshot.size, 0, content.length)));
     }
 
 
@@ -114,11 +270,27 @@ public class NumberListImpl implements NumberList {
      * @return <tt>NumberListImpl</tt> in other scale of notation.
      */
     public NumberListImpl changeScale() {
-        BigInteger value = toBigInteger();
-        int targetBase = determineAdditionalBase();
-        NumberListImpl result = new NumberListImpl(targetBase);
-        result.populateFromBigInteger(value);
-        return result;
+        ResultCache cache = resultCache;
+        if (cache == null) {
+            return scaleChanged();
+        }
+        return cache.computeIfAbsent(new ResultCache.Key("changeScale", base, toDigitArray()), this::scaleChanged);
+    }
+
+
+    /**
+     * Returns read-only view of the number in other scale of notation,
+     * defined by personal test assignment. Unlike {@link #changeScale()}
+     * no nodes are created: for power-of-two bases each digit of the view
+     * is extracted from the bits of this list's digits when it is read.<p>
+     *
+     * The view captures digits at the call and does not follow later
+     * changes of this list.
+     *
+     * @return view of the number in other scale of notation.
+     */
+    public ScaleView changeScaleView() {
+        return new ScaleView(base, toDigitArray(), determineAdditionalBase());
     }
 
 
@@ -136,15 +308,423 @@ public class NumberListImpl implements NumberList {
         if (arg == null) {
             return new NumberListImpl();
         }
-        BigInteger left = toBigInteger();
-        BigInteger right = toBigInteger(arg);
-        BigInteger product = left.multiply(right);
+        ResultCache cache = resultCache;
+        if (cache == null) {
+            return product(arg);
+        }
+        ResultCache.Key key = new ResultCache.Key("additionalOperation", base, toDigitArray(),
+                baseOf(arg), digitsOf(arg));
+        return cache.computeIfAbsent(key, () -> product(arg));
+    }
+
+
+    /**
+     * Enables process-wide memoization of <tt>changeScale</tt> and
+     * <tt>additionalOperation</tt> results. Repeated operands return the
+     * same shared instance, so while the cache is enabled the results of
+     * these operations are immutable: modifying them throws
+     * <tt>UnsupportedOperationException</tt>.<p>
+     *
+     * Previously cached results are dropped.
+     *
+     * @param maxDigits - limit of total number of digits of cached
+     * operands and results, least recently used entries are evicted.
+     */
+    public static void enableResultCache(long maxDigits) {
+        resultCache = new ResultCache(maxDigits);
+    }
+
+
+    /**
+     * Disables memoization of operation results and drops cached results.
+     */
+    public static void disableResultCache() {
+        resultCache = null;
+    }
+
+
+    /**
+     * Tells whether the list may be modified. Results returned while the
+     * result cache is enabled are shared and can't be modified.
+     *
+     * @return <tt>true</tt> if modifications throw
+     * <tt>UnsupportedOperationException</tt>.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+
+    /**
+     * Returns binary form of the list: base in one byte, number of digits
+     * as <tt>int</tt>, then the digits most significant first, two per
+     * byte. Takes linear time, unlike transfer as decimal string.
+     *
+     * @return buffer with the encoded list, ready to be read.
+     */
+    public ByteBuffer encode() {
+        return PackedDigits.encode(base, toDigitArray());
+    }
+
+
+    /**
+     * Reads list, written by {@link #encode()}, from the current position
+     * of the buffer. The position is advanced past the list.
+     *
+     * @param buffer - buffer with the encoded list.
+     * @return new list with the same base and digits.
+     * @throws IllegalArgumentException if the header or a digit is invalid.
+     * @throws java.nio.BufferUnderflowException if the buffer is too short.
+     */
+    public static NumberListImpl decode(ByteBuffer buffer) {
+        return PackedDigits.decode(buffer);
+    }
+
+
+    /**
+     * Returns modifiable copy of the list with the same base and digits.
+     * Digits are copied node by node, the number is not converted, and an
+     * already known numeric value is shared with the copy. Node pool and
+     * digit index are not copied.
+     *
+     * @return new list with the same digits.
+     */
+    public NumberListImpl copy() {
         NumberListImpl result = new NumberListImpl(base);
-        result.populateFromBigInteger(product);
+        Node current = head;
+        for (int i = 0; i < size; i++) {
+            result.linkLast(current.value);
+            current = current.next;
+        }
+        NumericValue known = numericValue;
+        if (known != null) {
+            result.numericValue = new NumericValue(known.value,
+                    known.pendingCount == 0 ? null : Arrays.copyOf(known.pending, known.pendingCount),
+                    known.pendingCount, known.updates);
+        }
         return result;
     }
 
 
+    /**
+     * Returns new <tt>NumberListImpl</tt> in the main scale of notation
+     * which represents the same number as the argument. Digits are copied
+     * directly if bases are equal and regrouped bit by bit if both bases
+     * are powers of two, so no conversion of the whole number is done in
+     * these cases.
+     *
+     * @param list - list to copy.
+     * @return new list in the main scale of notation.
+     */
+    public static NumberListImpl copyOf(NumberList list) {
+        if (list == null) {
+            throw new NullPointerException();
+        }
+        int mainBase = determineMainBase();
+        int listBase = baseOf(list);
+        if (list instanceof NumberListImpl && listBase == mainBase) {
+            return ((NumberListImpl) list).copy();
+        }
+        if (list.isEmpty()) {
+            return new NumberListImpl(mainBase);
+        }
+        if (listBase == mainBase) {
+            return fromDigits(mainBase, digitsOf(list));
+        }
+        if (bitsPerDigit(listBase) > 0 && bitsPerDigit(mainBase) > 0) {
+            return fromDigits(mainBase, new ScaleView(listBase, digitsOf(list), mainBase).toDigitArray());
+        }
+        return fromBigInteger(mainBase, valueOf(list));
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the integer
+     * quotient of the number, stored in the list, and the argument.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param arg - divisor
+     *
+     * @return quotient in the scale of notation of the current list, empty
+     * list if <tt>arg</tt> is <tt>null</tt>, like <tt>additionalOperation</tt>.
+     * @throws ArithmeticException if the divisor is zero or empty.
+     */
+    public NumberListImpl divide(NumberList arg) {
+        return divideAndRemainder(arg)[0];
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the remainder
+     * of division of the number, stored in the list, by the argument.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param arg - divisor
+     *
+     * @return remainder in the scale of notation of the current list, empty
+     * list if <tt>arg</tt> is <tt>null</tt>, like <tt>additionalOperation</tt>.
+     * @throws ArithmeticException if the divisor is zero or empty.
+     */
+    public NumberListImpl remainder(NumberList arg) {
+        return divideAndRemainder(arg)[1];
+    }
+
+
+    /**
+     * Returns array of two <tt>NumberListImpl</tt>: the integer quotient
+     * and the remainder of division of the number, stored in the list,
+     * by the argument.<p>
+     *
+     * Divisors which fit into a machine word are handled by schoolbook
+     * short division directly over the digits, without converting the
+     * dividend. Larger divisors are delegated to <tt>BigInteger</tt>,
+     * which switches from Knuth long division to recursive
+     * Burnikel-Ziegler division for large operands.<p>
+     *
+     * Does not impact the original list.
+     *
+     * @param arg - divisor
+     *
+     * @return array <tt>{quotient, remainder}</tt>, two empty lists if
+     * <tt>arg</tt> is <tt>null</tt>, like <tt>additionalOperation</tt>.
+     * @throws ArithmeticException if the divisor is zero or empty.
+     */
+    public NumberListImpl[] divideAndRemainder(NumberList arg) {
+        if (arg == null) {
+            return new NumberListImpl[] {new NumberListImpl(), new NumberListImpl()};
+        }
+        BigInteger divisor = toBigInteger(arg);
+        if (divisor.signum() == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (divisor.bitLength() < Integer.SIZE) {
+            return shortDivide(divisor.intValue());
+        }
+        BigInteger[] divRem = toBigInteger().divideAndRemainder(divisor);
+        NumberListImpl quotient = new NumberListImpl(base);
+        quotient.populateFromBigInteger(divRem[0]);
+        NumberListImpl remainder = new NumberListImpl(base);
+        remainder.populateFromBigInteger(divRem[1]);
+        return new NumberListImpl[] {quotient, remainder};
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents bitwise AND of
+     * the number, stored in the list, and the argument.<p>
+     *
+     * Lists in the same power-of-two scale of notation are combined digit
+     * by digit, otherwise the operation is performed on numeric values.
+     * Does not impact the original list.
+     *
+     * @param arg - second argument
+     * @return result in the scale of notation of the current list.
+     */
+    public NumberListImpl and(NumberList arg) {
+        return bitwise(arg, true);
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents bitwise OR of
+     * the number, stored in the list, and the argument.<p>
+     *
+     * Lists in the same power-of-two scale of notation are combined digit
+     * by digit, otherwise the operation is performed on numeric values.
+     * Does not impact the original list.
+     *
+     * @param arg - second argument
+     * @return result in the scale of notation of the current list.
+     */
+    public NumberListImpl or(NumberList arg) {
+        return bitwise(arg, false);
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the product
+     * of all numbers in the collection.<p>
+     *
+     * Factors are multiplied as a balanced product tree: on each level
+     * operands are ordered by size and neighbours are paired, so every
+     * multiplication is of operands of similar size. Pairs of one level
+     * are independent and are multiplied in parallel on the common
+     * <tt>ForkJoinPool</tt>.<p>
+     *
+     * Does not impact the factors. <tt>null</tt> elements are ignored.
+     *
+     * @param factors - numbers to multiply
+     *
+     * @return product in the main scale of notation, <tt>1</tt> for empty collection.
+     */
+    public static NumberListImpl productOf(Collection<? extends NumberList> factors) {
+        NumberListImpl result = new NumberListImpl();
+        if (factors == null) {
+            return result;
+        }
+        BigInteger[] values = factors.stream()
+                .filter(f -> f != null)
+                .map(NumberListImpl::toBigInteger)
+                .toArray(BigInteger[]::new);
+        result.populateFromBigInteger(multiplyAll(values));
+        return result;
+    }
+
+
+    /**
+     * Enables recycling of list nodes. Nodes, removed from the list,
+     * are kept in a bounded free list and reused by subsequent insertions,
+     * which reduces allocation rate of edit-heavy workloads.<p>
+     *
+     * The pool belongs to this list only, statistics are reset.
+     *
+     * @param capacity - maximum number of free nodes kept in the pool
+     */
+    public void enableNodePool(int capacity) {
+        checkMutable();
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        pool = new NodePool(capacity);
+    }
+
+
+    /**
+     * Disables recycling of list nodes and releases pooled nodes.
+     */
+    public void disableNodePool() {
+        pool = null;
+    }
+
+
+    /**
+     * Returns statistics of the node pool.
+     *
+     * @return statistics snapshot or <tt>null</tt> if the pool is disabled.
+     */
+    public NodePoolStats getNodePoolStats() {
+        return pool == null ? null : pool.stats();
+    }
+
+
+    /**
+     * Returns index of the first occurrence of the digit sequence in the
+     * list, or -1 if there is no such occurrence.
+     *
+     * @param pattern - digit sequence in the same scale of notation
+     * @return index of the first digit of the occurrence.
+     * @see #indexOfSequence(NumberList, boolean)
+     */
+    public int indexOfSequence(NumberList pattern) {
+        return indexOfSequence(pattern, false);
+    }
+
+
+    /**
+     * Returns index of the first occurrence of the digit sequence in the
+     * list, or -1 if there is no such occurrence.<p>
+     *
+     * Search runs in linear time with Knuth-Morris-Pratt matching directly
+     * over list nodes. In circular mode the list is treated as a ring, so
+     * an occurrence may start near the end and continue from the head.
+     *
+     * @param pattern - digit sequence in the same scale of notation
+     * @param circular - whether occurrences may wrap around the end of the list
+     * @return index of the first digit of the occurrence.
+     */
+    public int indexOfSequence(NumberList pattern, boolean circular) {
+        int[] found = {-1};
+        searchSequence(pattern, circular, start -> {
+            found[0] = start;
+            return false;
+        });
+        return found[0];
+    }
+
+
+    /**
+     * Returns index of the last occurrence of the digit sequence in the
+     * list, or -1 if there is no such occurrence.
+     *
+     * @param pattern - digit sequence in the same scale of notation
+     * @return index of the first digit of the occurrence.
+     */
+    public int lastIndexOfSequence(NumberList pattern) {
+        return lastIndexOfSequence(pattern, false);
+    }
+
+
+    /**
+     * Returns index of the last occurrence of the digit sequence in the
+     * list, or -1 if there is no such occurrence.
+     *
+     * @param pattern - digit sequence in the same scale of notation
+     * @param circular - whether occurrences may wrap around the end of the list
+     * @return index of the first digit of the occurrence.
+     */
+    public int lastIndexOfSequence(NumberList pattern, boolean circular) {
+        int[] found = {-1};
+        searchSequence(pattern, circular, start -> {
+            found[0] = start;
+            return true;
+        });
+        return found[0];
+    }
+
+
+    /**
+     * Returns number of possibly overlapping occurrences of the digit
+     * sequence in the list.
+     *
+     * @param pattern - digit sequence in the same scale of notation
+     * @return number of occurrences.
+     */
+    public int countOccurrences(NumberList pattern) {
+        return countOccurrences(pattern, false);
+    }
+
+
+    /**
+     * Returns number of possibly overlapping occurrences of the digit
+     * sequence in the list.
+     *
+     * @param pattern - digit sequence in the same scale of notation
+     * @param circular - whether occurrences may wrap around the end of the list
+     * @return number of occurrences.
+     */
+    public int countOccurrences(NumberList pattern, boolean circular) {
+        int[] count = {0};
+        searchSequence(pattern, circular, start -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+
+    /**
+     * Enables index of digit positions. The index keeps one bitset of
+     * positions per digit value and is updated on every modification, so
+     * <tt>contains</tt> takes constant time and <tt>indexOf</tt>,
+     * <tt>lastIndexOf</tt> and <tt>remove(Object)</tt> scan 64 positions
+     * at a time instead of walking nodes.
+     */
+    public void enableDigitIndex() {
+        checkMutable();
+        digitIndex = new DigitIndex(base, toDigitArray());
+    }
+
+
+    /**
+     * Disables index of digit positions.
+     */
+    public void disableDigitIndex() {
+        digitIndex = null;
+    }
+
+
     /**
      * Returns string representation of number, stored in the list
      * in <b>decimal</b> scale of notation.
@@ -176,10 +756,86 @@ public class NumberListImpl implements NumberList {
         if (this == o) {
             return true;
         }
-        if (!(o instanceof NumberList)) {
-            return false;
+        if (!(o instanceof NumberList)) {
+            return false;
+        }
+        return toBigInteger().equals(toBigInteger((NumberList) o));
+    }
+
+
+    @Override
+    public int hashCode() {
+        return toBigInteger().hashCode();
+    }
+
+
+    /**
+     * Compares numbers, stored in the lists. For lists in the same scale of
+     * notation leading zeros are skipped, numbers of different length are
+     * ordered by length and numbers of equal length by the first differing
+     * digit, most significant first. Lists in other scales of notation are
+     * compared by numeric value.<p>
+     *
+     * Consistent with <tt>equals</tt>.
+     *
+     * @param o - list to compare with.
+     * @return negative, zero or positive if this number is less, equal or
+     * greater than the argument.
+     */
+    @Override
+    public int compareTo(NumberList o) {
+        if (o == null) {
+            throw new NullPointerException();
+        }
+        if (o == this) {
+            return 0;
+        }
+        if (baseOf(o) != base) {
+            return toBigInteger().compareTo(toBigInteger(o));
+        }
+        Node current = head;
+        int zeros = 0;
+        while (zeros < size && current.value == 0) {
+            current = current.next;
+            zeros++;
+        }
+        if (o instanceof NumberListImpl) {
+            NumberListImpl other = (NumberListImpl) o;
+            Node otherCurrent = other.head;
+            int otherZeros = 0;
+            while (otherZeros < other.size && otherCurrent.value == 0) {
+                otherCurrent = otherCurrent.next;
+                otherZeros++;
+            }
+            int length = size - zeros;
+            if (length != other.size - otherZeros) {
+                return length < other.size - otherZeros ? -1 : 1;
+            }
+            for (int i = 0; i < length; i++) {
+                if (current.value.byteValue() != otherCurrent.value.byteValue()) {
+                    return current.value < otherCurrent.value ? -1 : 1;
+                }
+                current = current.next;
+                otherCurrent = otherCurrent.next;
+            }
+            return 0;
+        }
+        byte[] digits = digitsOf(o);
+        int otherZeros = 0;
+        while (otherZeros < digits.length && digits[otherZeros] == 0) {
+            otherZeros++;
+        }
+        int length = size - zeros;
+        if (length != digits.length - otherZeros) {
+            return length < digits.length - otherZeros ? -1 : 1;
+        }
+        for (int i = otherZeros; i < digits.length; i++) {
+            if (current.value != digits[i]) {
+                return current.value < digits[i] ? -1 : 1;
+            }
+            current = current.next;
         }
-        return toDecimalString().equals(toBigInteger((NumberList) o).toString());
+        return 0;
     }
 
 
@@ -197,6 +853,9 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean contains(Object o) {
+        if (digitIndex != null) {
+            return o instanceof Byte && isValidDigit((Byte) o) && digitIndex.count((Byte) o) > 0;
+        }
         return indexOf(o) >= 0;
     }
 
@@ -207,6 +866,29 @@ public class NumberListImpl implements NumberList {
     }
 
 
+    /**
+     * Returns spliterator over a snapshot of the digits, most significant
+     * first. Splits in balanced halves, so <tt>parallelStream()</tt> scales.
+     *
+     * @return spliterator of digits.
+     */
+    @Override
+    public Spliterator<Byte> spliterator() {
+        return new DigitSpliterator.Boxed(new DigitSpliterator(toDigitArray()));
+    }
+
+
+    /**
+     * Returns stream of digits, most significant first, without boxing.
+     * The stream works on a snapshot taken at this call.
+     *
+     * @return stream of digits.
+     */
+    public IntStream digits() {
+        return StreamSupport.intStream(new DigitSpliterator(toDigitArray()), false);
+    }
+
+
     @Override
     public Object[] toArray() {
         Byte[] arr = new Byte[size];
@@ -227,6 +909,7 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean add(Byte e) {
+        checkMutable();
         if (!isValidDigit(e)) {
             return false;
         }
@@ -237,13 +920,22 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean remove(Object o) {
+        checkMutable();
         if (!(o instanceof Byte)) {
             return false;
         }
+        if (digitIndex != null) {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        }
         Node current = head;
         for (int i = 0; i < size; i++) {
             if (current.value.equals(o)) {
-                unlink(current);
+                unlink(current, i);
                 return true;
             }
             current = current.next;
@@ -274,6 +966,7 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean addAll(int index, Collection<? extends Byte> c) {
+        checkMutable();
         if (c == null) {
             return false;
         }
@@ -284,11 +977,8 @@ public class NumberListImpl implements NumberList {
             if (!isValidDigit(b)) {
                 continue;
             }
-            linkBefore(b, successor);
+            linkBefore(b, successor, index + added);
             added++;
-            if (successor == null && head != null) {
-                successor = head;
-            }
         }
         return added > 0;
     }
@@ -296,57 +986,68 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean removeAll(Collection<?> c) {
+        checkMutable();
         if (c == null || isEmpty()) {
             return false;
         }
-        boolean modified = false;
+        int removed = 0;
+        int count = size;
         Node current = head;
-        int traversed = 0;
-        while (traversed < size) {
+        for (int traversed = 0; traversed < count; traversed++) {
             Node next = current.next;
             if (c.contains(current.value)) {
-                unlink(current);
-                modified = true;
+                unlink(current, traversed - removed);
+                removed++;
             }
             current = next;
-            traversed++;
-            if (isEmpty()) {
-                break;
-            }
         }
-        return modified;
+        return removed > 0;
     }
 
 
     @Override
     public boolean retainAll(Collection<?> c) {
+        checkMutable();
         if (c == null) {
             clear();
             return true;
         }
-        boolean modified = false;
+        int removed = 0;
+        int count = size;
         Node current = head;
-        int traversed = 0;
-        while (traversed < size) {
+        for (int traversed = 0; traversed < count; traversed++) {
             Node next = current.next;
             if (!c.contains(current.value)) {
-                unlink(current);
-                modified = true;
+                unlink(current, traversed - removed);
+                removed++;
             }
             current = next;
-            traversed++;
-            if (isEmpty()) {
-                break;
-            }
         }
-        return modified;
+        return removed > 0;
     }
 
 
     @Override
     public void clear() {
+        checkMutable();
+        if (pool != null) {
+            Node current = head;
+            for (int i = 0; i < size; i++) {
+                if (!pool.hasRoom()) {
+                    pool.discarded += size - i;
+                    break;
+                }
+                Node next = current.next;
+                pool.give(current);
+                current = next;
+            }
+        }
         head = null;
         size = 0;
+        dropValue();
+        if (digitIndex != null) {
+            digitIndex.clear();
+        }
     }
 
 
@@ -358,18 +1059,24 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public Byte set(int index, Byte element) {
+        checkMutable();
         if (!isValidDigit(element)) {
             throw new IllegalArgumentException("Invalid digit for base " + base);
         }
         Node node = nodeAt(index);
         Byte old = node.value;
         node.value = element;
+        if (digitIndex != null) {
+            digitIndex.set(index, old, element);
+        }
+        digitChanged(index, old, element);
         return old;
     }
 
 
     @Override
     public void add(int index, Byte element) {
+        checkMutable();
         if (!isValidDigit(element)) {
             throw new IllegalArgumentException("Invalid digit for base " + base);
         }
@@ -377,16 +1084,17 @@ public class NumberListImpl implements NumberList {
         if (index == size) {
             linkLast(element);
         } else {
-            linkBefore(element, nodeAt(index));
+            linkBefore(element, nodeAt(index), index);
         }
     }
 
 
     @Override
     public Byte remove(int index) {
+        checkMutable();
         Node node = nodeAt(index);
         Byte old = node.value;
-        unlink(node);
+        unlink(node, index);
         return old;
     }
 
@@ -396,6 +1104,9 @@ public class NumberListImpl implements NumberList {
         if (!(o instanceof Byte)) {
             return -1;
         }
+        if (digitIndex != null) {
+            return isValidDigit((Byte) o) ? digitIndex.indexOf((Byte) o) : -1;
+        }
         Node current = head;
         for (int i = 0; i < size; i++) {
             if (current.value.equals(o)) {
@@ -412,6 +1123,9 @@ public class NumberListImpl implements NumberList {
         if (!(o instanceof Byte)) {
             return -1;
         }
+        if (digitIndex != null) {
+            return isValidDigit((Byte) o) ? digitIndex.lastIndexOf((Byte) o) : -1;
+        }
         Node current = head == null ? null : head.prev;
         for (int i = size - 1; i >= 0; i--) {
             if (current != null && current.value.equals(o)) {
@@ -453,6 +1167,7 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public boolean swap(int index1, int index2) {
+        checkMutable();
         if (index1 < 0 || index2 < 0 || index1 >= size || index2 >= size) {
             return false;
         }
@@ -464,6 +1179,12 @@ public class NumberListImpl implements NumberList {
         Byte tmp = n1.value;
         n1.value = n2.value;
         n2.value = tmp;
+        if (digitIndex != null) {
+            digitIndex.set(index1, tmp, n1.value);
+            digitIndex.set(index2, n1.value, tmp);
+        }
+        digitChanged(index1, tmp, n1.value);
+        digitChanged(index2, n1.value, tmp);
         return true;
     }
 
@@ -482,16 +1203,28 @@ public class NumberListImpl implements NumberList {
 
     @Override
     public void shiftLeft() {
+        checkMutable();
         if (size > 1) {
+            if (digitIndex != null) {
+                digitIndex.remove(0, head.value);
+                digitIndex.append(head.value);
+            }
             head = head.next;
+            dropValue();
         }
     }
 
 
     @Override
     public void shiftRight() {
+        checkMutable();
         if (size > 1) {
+            if (digitIndex != null) {
+                digitIndex.remove(size - 1, head.prev.value);
+                digitIndex.insert(0, head.prev.value);
+            }
             head = head.prev;
+            dropValue();
         }
     }
 
@@ -501,19 +1234,174 @@ public class NumberListImpl implements NumberList {
         this.base = base;
     }
 
+    private Object writeReplace() {
+        return new PackedDigits(base, toDigitArray());
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialization proxy required");
+    }
+
     private void loadFromDecimalString(String value) {
         if (value == null) {
             return;
         }
-        value = value.trim();
-        if (value.isEmpty() || value.startsWith("-")) {
+        populateFromBigInteger(DecimalParser.parse(value));
+    }
+
+    private NumberListImpl scaleChanged() {
+        NumberListEvent event = NumberListEvent.start("changeScale", base);
+        BigInteger value = toBigInteger();
+        int targetBase = determineAdditionalBase();
+        NumberListImpl result = new NumberListImpl(targetBase);
+        result.populateFromBigInteger(value);
+        event.finish(size, result.size, 0);
+        return result;
+    }
+
+    private NumberListImpl product(NumberList arg) {
+        NumberListEvent event = NumberListEvent.start("additionalOperation", base);
+        BigInteger left = toBigInteger();
+        BigInteger right = toBigInteger(arg);
+        BigInteger product = left.multiply(right);
+        NumberListImpl result = new NumberListImpl(base);
+        result.populateFromBigInteger(product);
+        event.finish(size + arg.size(), result.size, 0);
+        return result;
+    }
+
+    private static NumberListImpl parseDecimal(int base, byte[] content) {
+        BigInteger value = DecimalParser.parse(content);
+        if (value == null) {
+            throw new NumberFormatException("Not a decimal number");
+        }
+        NumberListImpl result = new NumberListImpl(base);
+        result.populateFromBigInteger(value);
+        return result;
+    }
+
+    private static NumberListImpl parseNative(int base, byte[] content) {
+        int from = 0;
+        int to = content.length;
+        while (from < to && (content[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (content[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            throw new NumberFormatException("Empty number");
+        }
+        NumberListImpl result = new NumberListImpl(base);
+        for (int i = from; i < to; i++) {
+            int c = content[i];
+            int digit = c >= '0' && c <= '9' ? c - '0'
+                    : c >= 'A' && c <= 'Z' ? c - 'A' + 10
+                    : c >= 'a' && c <= 'z' ? c - 'a' + 10 : base;
+            if (digit >= base) {
+                throw new NumberFormatException("Not a base " + base + " digit: " + (char) (c & 0xFF));
+            }
+            result.linkLast((byte) digit);
+        }
+        return result;
+    }
+
+    private NumberListImpl bitwise(NumberList arg, boolean and) {
+        if (arg == null) {
+            return new NumberListImpl();
+        }
+        if (bitsPerDigit(base) < 0 || baseOf(arg) != base) {
+            BigInteger left = toBigInteger();
+            BigInteger right = toBigInteger(arg);
+            return fromBigInteger(base, and ? left.and(right) : left.or(right));
+        }
+        byte[] left = toDigitArray();
+        byte[] right = digitsOf(arg);
+        int length = and ? Math.min(left.length, right.length) : Math.max(left.length, right.length);
+        byte[] a = alignRight(left, length);
+        byte[] b = alignRight(right, length);
+        byte[] result = new byte[length];
+        DigitKernels kernels = DigitKernels.get();
+        if (and) {
+            kernels.and(a, b, result, length);
+        } else {
+            kernels.or(a, b, result, length);
+        }
+        int zeros = kernels.leadingZeros(result, 0, length);
+        if (zeros == length) {
+            return fromBigInteger(base, BigInteger.ZERO);
+        }
+        return fromDigits(base, Arrays.copyOfRange(result, zeros, length));
+    }
+
+    /**
+     * Returns the least significant <tt>length</tt> digits, padded with
+     * leading zeros if needed.
+     */
+    private static byte[] alignRight(byte[] digits, int length) {
+        if (digits.length == length) {
+            return digits;
+        }
+        byte[] aligned = new byte[length];
+        int n = Math.min(length, digits.length);
+        System.arraycopy(digits, digits.length - n, aligned, length - n, n);
+        return aligned;
+    }
+
+    /**
+     * Reports start of every occurrence of the pattern to the consumer
+     * while it returns <tt>true</tt>. Empty pattern occurs at every
+     * position.
+     */
+    private void searchSequence(NumberList pattern, boolean circular, IntPredicate consumer) {
+        if (pattern == null) {
+            return;
+        }
+        if (baseOf(pattern) != base) {
+            throw new IllegalArgumentException("Pattern base " + baseOf(pattern) + " differs from " + base);
+        }
+        DigitMatcher matcher = new DigitMatcher(digitsOf(pattern));
+        int m = matcher.length();
+        if (m > size) {
             return;
         }
-        if (!value.chars().allMatch(Character::isDigit)) {
+        int starts = circular ? size : size - m + 1;
+        if (m == 0) {
+            for (int i = 0; i < starts; i++) {
+                if (!consumer.test(i)) {
+                    return;
+                }
+            }
             return;
         }
-        BigInteger big = new BigInteger(value);
-        populateFromBigInteger(big);
+        Node current = head;
+        for (int i = 0; i < starts + m - 1; i++) {
+            if (matcher.feed(current.value) && !consumer.test(i - m + 1)) {
+                return;
+            }
+            current = current.next;
+        }
+    }
+
+    private NumberListImpl[] shortDivide(int divisor) {
+        NumberListImpl quotient = new NumberListImpl(base);
+        long rem = 0;
+        Node current = head;
+        for (int i = 0; i < size; i++) {
+            rem = rem * base + current.value;
+            int q = (int) (rem / divisor);
+            rem %= divisor;
+            if (q != 0 || !quotient.isEmpty()) {
+                quotient.linkLast((byte) q);
+            }
+            current = current.next;
+        }
+        if (quotient.isEmpty()) {
+            quotient.linkLast((byte) 0);
+        }
+        NumberListImpl remainder = new NumberListImpl(base);
+        remainder.populateFromBigInteger(BigInteger.valueOf(rem));
+        return new NumberListImpl[] {quotient, remainder};
     }
 
     private void populateFromBigInteger(BigInteger number) {
@@ -521,58 +1409,310 @@ public class NumberListImpl implements NumberList {
         if (number == null) {
             return;
         }
+        NumberListMetrics.converted();
+        int bits = bitsPerDigit(base);
         if (number.signum() == 0) {
-            add((byte) 0);
-            return;
-        }
-        BigInteger b = number;
-        BigInteger baseBI = BigInteger.valueOf(base);
-        ArrayList<Byte> digits = new ArrayList<>();
-        while (b.signum() > 0) {
-            BigInteger[] divRem = b.divideAndRemainder(baseBI);
-            digits.add(divRem[1].byteValue());
-            b = divRem[0];
+            linkLast((byte) 0);
+        } else if (bits > 0) {
+            byte[] magnitude = number.toByteArray();
+            int digits = (number.bitLength() + bits - 1) / bits;
+            for (int i = digits - 1; i >= 0; i--) {
+                linkLast(digitFromMagnitude(magnitude, (long) i * bits, bits));
+            }
+        } else {
+            linkDigits(number, -1);
         }
-        Collections.reverse(digits);
-        for (Byte d : digits) {
-            add(d);
+        numericValue = new NumericValue(number, null, 0, 0);
+    }
+
+    /**
+     * Appends digits of non-negative number, padded with zeros to
+     * <tt>width</tt> digits unless it is negative. Large numbers are split
+     * by <tt>base^(2^k)</tt> from the power table cache.
+     */
+    private void linkDigits(BigInteger number, int width) {
+        if (number.bitLength() < Long.SIZE - 1) {
+            long value = number.longValue();
+            byte[] digits = new byte[Long.SIZE];
+            int count = 0;
+            while (value > 0) {
+                digits[count++] = (byte) (value % base);
+                value /= base;
+            }
+            for (int i = count; i < width; i++) {
+                linkLast((byte) 0);
+            }
+            while (count > 0) {
+                linkLast(digits[--count]);
+            }
+            return;
         }
+        int level = PowerTableCache.levelFor(base, number.bitLength() / 2);
+        BigInteger[] divRem = number.divideAndRemainder(PowerTableCache.power(base, level));
+        linkDigits(divRem[0], width < 0 ? -1 : width - (1 << level));
+        linkDigits(divRem[1], 1 << level);
     }
 
+    /**
+     * Returns numeric value, computed once and then kept up to date by
+     * <tt>set</tt>, <tt>swap</tt>, iterator <tt>set</tt> and appends.
+     * Appended digits are only collected and folded in here, so a run of
+     * appends is linear. Other modifications drop the value.<p>
+     *
+     * Reads of an unmodified list may run concurrently: the folded value
+     * is published as a new snapshot by one volatile write.
+     */
     private BigInteger toBigInteger() {
-        return toBigInteger(this);
+        NumericValue known = numericValue;
+        if (known == null) {
+            BigInteger value = computeValue(this);
+            numericValue = new NumericValue(value, null, 0, 0);
+            return value;
+        }
+        if (known.pendingCount == 0 && known.updates == 0) {
+            return known.value;
+        }
+        BigInteger value = known.value;
+        if (known.pendingCount > 0) {
+            int bits = bitsPerDigit(base);
+            value = (bits > 0 ? value.shiftLeft(bits * known.pendingCount)
+                    : value.multiply(BigInteger.valueOf(base).pow(known.pendingCount)))
+                    .add(combineDigits(known.pending, 0, known.pendingCount, base));
+        }
+        numericValue = new NumericValue(value, known.pending, 0, 0);
+        return value;
+    }
+
+    private static BigInteger toBigInteger(NumberList list) {
+        if (list instanceof NumberListImpl) {
+            return ((NumberListImpl) list).toBigInteger();
+        }
+        if (list instanceof LimbNumberList) {
+            return ((LimbNumberList) list).toBigInteger();
+        }
+        return computeValue(list);
     }
 
-    private BigInteger toBigInteger(NumberList list) {
+    private static BigInteger computeValue(NumberList list) {
         if (list == null || list.isEmpty()) {
             return BigInteger.ZERO;
         }
-        int listBase = (list instanceof NumberListImpl) ? ((NumberListImpl) list).base : determineMainBase();
-        BigInteger bBase = BigInteger.valueOf(listBase);
-        BigInteger result = BigInteger.ZERO;
-        for (Byte digit : list) {
-            result = result.multiply(bBase).add(BigInteger.valueOf(digit));
+        NumberListMetrics.converted();
+        int listBase = baseOf(list);
+        int bits = bitsPerDigit(listBase);
+        if (bits > 0) {
+            return fromPowerOfTwoDigits(list, bits);
+        }
+        byte[] digits = digitsOf(list);
+        return combineDigits(digits, 0, digits.length, listBase);
+    }
+
+    /**
+     * Value of <tt>digits[from, to)</tt>, split so that the low half has
+     * <tt>2^k</tt> digits and its weight comes from the power table cache.
+     */
+    private static BigInteger combineDigits(byte[] digits, int from, int to, int base) {
+        int count = to - from;
+        if (count <= SCHOOLBOOK_DIGITS) {
+            BigInteger result = BigInteger.ZERO;
+            long acc = 0;
+            long weight = 1;
+            for (int i = from; i < to; i++) {
+                acc = acc * base + digits[i];
+                weight *= base;
+                if (weight > Long.MAX_VALUE / 16 / base || i == to - 1) {
+                    result = result.multiply(BigInteger.valueOf(weight)).add(BigInteger.valueOf(acc));
+                    acc = 0;
+                    weight = 1;
+                }
+            }
+            return result;
+        }
+        int level = 31 - Integer.numberOfLeadingZeros(count - 1);
+        int mid = to - (1 << level);
+        return combineDigits(digits, from, mid, base).multiply(PowerTableCache.power(base, level))
+                .add(combineDigits(digits, mid, to, base));
+    }
+
+    /**
+     * Returns base of any <tt>NumberList</tt> of this package, main base
+     * for foreign implementations.
+     */
+    static int baseOf(NumberList list) {
+        if (list instanceof NumberListImpl) {
+            return ((NumberListImpl) list).base;
+        }
+        if (list instanceof AbstractNumberList) {
+            return ((AbstractNumberList) list).base;
+        }
+        return determineMainBase();
+    }
+
+    static BigInteger valueOf(NumberList list) {
+        return toBigInteger(list);
+    }
+
+    /**
+     * Multiplies values as a balanced product tree, see {@link #productOf}.
+     * The array is reordered.
+     */
+    static BigInteger multiplyAll(BigInteger[] values) {
+        if (values.length == 0) {
+            return BigInteger.ONE;
+        }
+        while (values.length > 1) {
+            Arrays.sort(values, Comparator.comparingInt(BigInteger::bitLength));
+            BigInteger[] next = new BigInteger[(values.length + 1) / 2];
+            ForkJoinPool.commonPool().invoke(new PairProductTask(values, next, 0, next.length));
+            values = next;
+        }
+        return values[0];
+    }
+
+    static NumberListImpl fromBigInteger(int base, BigInteger value) {
+        NumberListImpl result = new NumberListImpl(base);
+        result.populateFromBigInteger(value);
+        return result;
+    }
+
+    /**
+     * Builds list from digits, most significant first. Digits are
+     * not validated.
+     */
+    static NumberListImpl fromDigits(int base, byte[] digits) {
+        NumberListImpl result = new NumberListImpl(base);
+        for (byte d : digits) {
+            result.linkLast(d);
         }
         return result;
     }
 
-    private int determineMainBase() {
+    /**
+     * Returns digits of any <tt>NumberList</tt>, most significant first.
+     */
+    static byte[] digitsOf(NumberList list) {
+        if (list instanceof NumberListImpl) {
+            return ((NumberListImpl) list).toDigitArray();
+        }
+        if (list instanceof AbstractNumberList) {
+            return ((AbstractNumberList) list).toDigitArray();
+        }
+        byte[] digits = new byte[list.size()];
+        int i = 0;
+        for (Byte d : list) {
+            digits[i++] = d;
+        }
+        if (!DigitKernels.get().allBelow(digits, 0, digits.length, determineMainBase())) {
+            throw new IllegalArgumentException("Invalid digit for base " + determineMainBase());
+        }
+        return digits;
+    }
+
+    byte[] toDigitArray() {
+        byte[] digits = new byte[size];
+        Node current = head;
+        for (int i = 0; i < size; i++) {
+            digits[i] = current.value;
+            current = current.next;
+        }
+        return digits;
+    }
+
+    /**
+     * Packs digits of a list in power-of-two base into big-endian magnitude
+     * in a single linear pass.
+     */
+    private static BigInteger fromPowerOfTwoDigits(NumberList list, int bits) {
+        int count = list.size();
+        byte[] magnitude = new byte[(int) (((long) count * bits + 7) >>> 3)];
+        long bitPos = (long) (count - 1) * bits;
+        for (Byte digit : list) {
+            int byteIdx = magnitude.length - 1 - (int) (bitPos >>> 3);
+            int v = digit << (int) (bitPos & 7);
+            magnitude[byteIdx] |= (byte) v;
+            if (v > 0xFF) {
+                magnitude[byteIdx - 1] |= (byte) (v >>> 8);
+            }
+            bitPos -= bits;
+        }
+        return new BigInteger(1, magnitude);
+    }
+
+    private static byte digitFromMagnitude(byte[] magnitude, long bitPos, int bits) {
+        int byteIdx = magnitude.length - 1 - (int) (bitPos >>> 3);
+        int shift = (int) (bitPos & 7);
+        int v = (magnitude[byteIdx] & 0xFF) >>> shift;
+        if (shift + bits > 8 && byteIdx > 0) {
+            v |= (magnitude[byteIdx - 1] & 0xFF) << (8 - shift);
+        }
+        return (byte) (v & ((1 << bits) - 1));
+    }
+
+    /**
+     * Returns number of bits per digit if base is a power of two,
+     * otherwise <tt>-1</tt>.
+     */
+    static int bitsPerDigit(int base) {
+        if (base < 2 || (base & (base - 1)) != 0) {
+            return -1;
+        }
+        return Integer.numberOfTrailingZeros(base);
+    }
+
+    static int determineMainBase() {
         int c5 = getRecordBookNumber() % 5;
         return BASES[c5];
     }
 
-    private int determineAdditionalBase() {
+    static int determineAdditionalBase() {
         int c5 = getRecordBookNumber() % 5;
         int idx = (c5 + 1) % BASES.length;
         return BASES[idx];
     }
 
+    void freeze() {
+        frozen = true;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("List is a shared cached result");
+        }
+    }
+
     private boolean isValidDigit(Byte b) {
         return b != null && b >= 0 && b < base;
     }
 
+    /**
+     * Applies change of the digit at <tt>index</tt> to the known value:
+     * adds <tt>(newDigit - oldDigit) * base^position</tt>. Each update costs
+     * as much as the value, so after {@link #MAX_VALUE_UPDATES} updates
+     * without a read the value is dropped instead.
+     */
+    private void digitChanged(int index, byte oldDigit, byte newDigit) {
+        NumericValue known = numericValue;
+        if (known == null || oldDigit == newDigit) {
+            return;
+        }
+        int pendingFrom = size - known.pendingCount;
+        if (index >= pendingFrom) {
+            known.pending[index - pendingFrom] = newDigit;
+            return;
+        }
+        if (known.updates >= MAX_VALUE_UPDATES) {
+            dropValue();
+            return;
+        }
+        BigInteger delta = BigInteger.valueOf(newDigit - oldDigit);
+        int position = pendingFrom - 1 - index;
+        int bits = bitsPerDigit(base);
+        delta = bits > 0 ? delta.shiftLeft(bits * position) : delta.multiply(BigInteger.valueOf(base).pow(position));
+        numericValue = new NumericValue(known.value.add(delta), known.pending, known.pendingCount, known.updates + 1);
+    }
+
     private void linkLast(Byte value) {
-        Node newNode = new Node(value);
+        Node newNode = newNode(value);
         if (head == null) {
             head = newNode;
             head.next = head;
@@ -584,15 +1724,32 @@ public class NumberListImpl implements NumberList {
             newNode.next = head;
             head.prev = newNode;
         }
+        if (digitIndex != null) {
+            digitIndex.append(value);
+        }
+        NumericValue known = numericValue;
+        if (known != null) {
+            byte[] pending = known.pending;
+            int count = known.pendingCount;
+            if (pending == null || count == pending.length) {
+                pending = Arrays.copyOf(pending == null ? new byte[0] : pending, Math.max(16, count * 2));
+            }
+            pending[count] = value;
+            numericValue = new NumericValue(known.value, pending, count + 1, known.updates);
+        }
         size++;
     }
 
-    private void linkBefore(Byte value, Node successor) {
+    private void dropValue() {
+        numericValue = null;
+    }
+
+    private void linkBefore(Byte value, Node successor, int index) {
         if (successor == null) {
             linkLast(value);
             return;
         }
-        Node newNode = new Node(value);
+        Node newNode = newNode(value);
         Node predecessor = successor.prev;
         newNode.next = successor;
         newNode.prev = predecessor;
@@ -603,28 +1760,51 @@ public class NumberListImpl implements NumberList {
         if (successor == head) {
             head = newNode;
         }
+        if (digitIndex != null) {
+            digitIndex.insert(index, value);
+        }
+        dropValue();
         size++;
     }
 
-    private void unlink(Node node) {
+    private Node newNode(Byte value) {
+        if (pool != null) {
+            Node node = pool.take(value);
+            if (node != null) {
+                return node;
+            }
+        }
+        NumberListMetrics.nodeAllocated();
+        return new Node(value);
+    }
+
+    private void unlink(Node node, int index) {
+        if (digitIndex != null) {
+            digitIndex.remove(index, node.value);
+        }
+        dropValue();
         if (size == 1) {
             head = null;
             size = 0;
-            return;
+        } else {
+            Node prev = node.prev;
+            Node next = node.next;
+            prev.next = next;
+            next.prev = prev;
+            if (node == head) {
+                head = next;
+            }
+            size--;
         }
-        Node prev = node.prev;
-        Node next = node.next;
-        prev.next = next;
-        next.prev = prev;
-        if (node == head) {
-            head = next;
+        if (pool != null) {
+            pool.give(node);
         }
-        size--;
     }
 
     private Node nodeAt(int index) {
         checkElementIndex(index);
         Node current;
+        NumberListMetrics.traversed(Math.min(index, size - 1 - index));
         if (index < (size / 2)) {
             current = head;
             for (int i = 0; i < index; i++) {
@@ -651,7 +1831,7 @@ public class NumberListImpl implements NumberList {
         }
     }
 
-    private char digitToChar(Byte digit) {
+    static char digitToChar(int digit) {
         if (digit < 10) {
             return (char) ('0' + digit);
         }
@@ -659,18 +1839,51 @@ public class NumberListImpl implements NumberList {
     }
 
     private void sortInternal(boolean asc) {
+        checkMutable();
         if (size < 2) {
             return;
         }
-        Byte[] arr = new Byte[size];
-        int i = 0;
-        for (Byte b : this) {
-            arr[i++] = b;
+        NumberListEvent event = NumberListEvent.start(asc ? "sortAscending" : "sortDescending", base);
+        int[] counts = new int[base];
+        Node current = head;
+        for (int i = 0; i < size; i++) {
+            counts[current.value]++;
+            current = current.next;
         }
-        Arrays.sort(arr, (a, b) -> asc ? Byte.compare(a, b) : Byte.compare(b, a));
-        clear();
-        for (Byte b : arr) {
-            add(b);
+        current = head;
+        for (int i = 0; i < base; i++) {
+            Byte digit = (byte) (asc ? i : base - 1 - i);
+            for (int c = counts[digit]; c > 0; c--) {
+                current.value = digit;
+                current = current.next;
+            }
+        }
+        if (digitIndex != null) {
+            enableDigitIndex();
+        }
+        dropValue();
+        event.finish(size, size, 0);
+    }
+
+    /**
+     * Immutable snapshot of the numeric value: <tt>value</tt> followed by
+     * <tt>pending[0, pendingCount)</tt> digits appended after it, and the
+     * number of <tt>set</tt>/<tt>swap</tt> updates since the last read.
+     * The pending array is shared with later snapshots and written in place
+     * by modifications, which, as for the list itself, must not run
+     * concurrently with reads.
+     */
+    private static final class NumericValue {
+        private final BigInteger value;
+        private final byte[] pending;
+        private final int pendingCount;
+        private final int updates;
+
+        NumericValue(BigInteger value, byte[] pending, int pendingCount, int updates) {
+            this.value = value;
+            this.pending = pending;
+            this.pendingCount = pendingCount;
+            this.updates = updates;
         }
     }
 
@@ -684,9 +1897,64 @@ public class NumberListImpl implements NumberList {
         }
     }
 
+    /**
+     * Bounded free list of nodes, linked through <tt>next</tt>.
+     */
+    private static final class NodePool {
+        private final int capacity;
+        private Node free;
+        private int freeCount;
+        private long hits;
+        private long misses;
+        private long recycled;
+        private long discarded;
+
+        NodePool(int capacity) {
+            this.capacity = capacity;
+        }
+
+        Node take(Byte value) {
+            if (free == null) {
+                misses++;
+                NumberListMetrics.poolMissed();
+                return null;
+            }
+            Node node = free;
+            free = node.next;
+            freeCount--;
+            node.next = null;
+            node.value = value;
+            hits++;
+            NumberListMetrics.poolHit();
+            return node;
+        }
+
+        boolean hasRoom() {
+            return freeCount < capacity;
+        }
+
+        void give(Node node) {
+            if (!hasRoom()) {
+                discarded++;
+                return;
+            }
+            node.value = null;
+            node.prev = null;
+            node.next = free;
+            free = node;
+            freeCount++;
+            recycled++;
+        }
+
+        NodePoolStats stats() {
+            return new NodePoolStats(hits, misses, recycled, discarded, freeCount);
+        }
+    }
+
     private final class ListItr implements ListIterator<Byte> {
         private Node nextNode;
         private Node lastReturned;
+        private int lastReturnedIndex;
         private int nextIndex;
 
         ListItr(int index) {
@@ -710,6 +1978,7 @@ public class NumberListImpl implements NumberList {
                 throw new java.util.NoSuchElementException();
             }
             lastReturned = nextNode;
+            lastReturnedIndex = nextIndex;
             nextNode = nextNode.next;
             nextIndex++;
             return lastReturned.value;
@@ -728,6 +1997,7 @@ public class NumberListImpl implements NumberList {
             nextNode = (nextNode == null) ? head.prev : nextNode.prev;
             lastReturned = nextNode;
             nextIndex--;
+            lastReturnedIndex = nextIndex;
             return lastReturned.value;
         }
 
@@ -743,12 +2013,13 @@ public class NumberListImpl implements NumberList {
 
         @Override
         public void remove() {
+            checkMutable();
             if (lastReturned == null) {
                 throw new IllegalStateException();
             }
             Node lastNext = lastReturned.next;
-            unlink(lastReturned);
-            if (nextNode == lastReturned) {
+            unlink(lastReturned, lastReturnedIndex);
+            if (lastReturnedIndex == nextIndex) {
                 nextNode = lastNext;
             } else {
                 nextIndex--;
@@ -758,30 +2029,72 @@ public class NumberListImpl implements NumberList {
 
         @Override
         public void set(Byte byteObj) {
+            checkMutable();
             if (lastReturned == null) {
                 throw new IllegalStateException();
             }
             if (!isValidDigit(byteObj)) {
                 throw new IllegalArgumentException("Invalid digit for base " + base);
             }
+            if (digitIndex != null) {
+                digitIndex.set(lastReturnedIndex, lastReturned.value, byteObj);
+            }
+            digitChanged(lastReturnedIndex, lastReturned.value, byteObj);
             lastReturned.value = byteObj;
         }
 
         @Override
         public void add(Byte byteObj) {
+            checkMutable();
             if (!isValidDigit(byteObj)) {
                 throw new IllegalArgumentException("Invalid digit for base " + base);
             }
-            if (nextNode == null) {
+            if (nextIndex == size) {
                 linkLast(byteObj);
             } else {
-                linkBefore(byteObj, nextNode);
+                linkBefore(byteObj, nextNode, nextIndex);
             }
             nextIndex++;
             lastReturned = null;
         }
     }
 
+    /**
+     * Multiplies neighbours <tt>values[2k]</tt> and <tt>values[2k + 1]</tt>
+     * for every <tt>k</tt> in range, values have to be sorted by size. The
+     * last value of odd count is passed as is.
+     */
+    private static final class PairProductTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int PARALLEL_THRESHOLD_BITS = 1 << 14;
+
+        private final BigInteger[] values;
+        private final BigInteger[] products;
+        private final int from;
+        private final int to;
+
+        PairProductTask(BigInteger[] values, BigInteger[] products, int from, int to) {
+            this.values = values;
+            this.products = products;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int last = values.length - 1;
+            if (to - from == 1 || values[Math.min(2 * to - 1, last)].bitLength() < PARALLEL_THRESHOLD_BITS) {
+                for (int k = from; k < to; k++) {
+                    products[k] = 2 * k == last ? values[2 * k] : values[2 * k].multiply(values[2 * k + 1]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PairProductTask(values, products, from, mid),
+                    new PairProductTask(values, products, mid, to));
+        }
+    }
+
     private static final class DoublyLinkedListBuffer {
         private final ArrayList<Byte> data = new ArrayList<>();
         private final int base;
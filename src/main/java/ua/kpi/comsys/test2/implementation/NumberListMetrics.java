@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide counters of <tt>NumberListImpl</tt> internals.<p>
+ *
+ * Counting costs a <tt>LongAdder</tt> increment only. The platform MBean
+ * server is not touched until {@link #getInstance()} or
+ * {@link #registerMBean()} is called, which registers the counters under
+ * <tt>ua.kpi.comsys.test2:type=NumberListMetrics</tt>.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public final class NumberListMetrics implements NumberListMetricsMBean {
+
+    /**
+     * Name of the MBean in the platform MBean server.
+     */
+    public static final String OBJECT_NAME = "ua.kpi.comsys.test2:type=NumberListMetrics";
+
+    private static final NumberListMetrics INSTANCE = new NumberListMetrics();
+    private static volatile boolean registered;
+
+    private final LongAdder traversalSteps = new LongAdder();
+    private final LongAdder nodesAllocated = new LongAdder();
+    private final LongAdder conversions = new LongAdder();
+    private final LongAdder poolHits = new LongAdder();
+    private final LongAdder poolMisses = new LongAdder();
+    private final LongAdder powerCacheHits = new LongAdder();
+    private final LongAdder powerCacheMisses = new LongAdder();
+    private final LongAdder resultCacheHits = new LongAdder();
+    private final LongAdder resultCacheMisses = new LongAdder();
+
+    private NumberListMetrics() {
+    }
+
+
+    /**
+     * Returns the only instance of metrics, registering it in the platform
+     * MBean server on first call.
+     *
+     * @return metrics instance.
+     */
+    public static NumberListMetrics getInstance() {
+        registerMBean();
+        return INSTANCE;
+    }
+
+
+    /**
+     * Registers the metrics in the platform MBean server, so they are
+     * visible to JMX clients. Does nothing if already registered.
+     */
+    public static void registerMBean() {
+        if (registered) {
+            return;
+        }
+        synchronized (NumberListMetrics.class) {
+            if (!registered) {
+                register(INSTANCE);
+                registered = true;
+            }
+        }
+    }
+
+
+    @Override
+    public long getTraversalSteps() {
+        return traversalSteps.sum();
+    }
+
+
+    @Override
+    public long getNodesAllocated() {
+        return nodesAllocated.sum();
+    }
+
+
+    @Override
+    public long getConversions() {
+        return conversions.sum();
+    }
+
+
+    @Override
+    public long getPoolHits() {
+        return poolHits.sum();
+    }
+
+
+    @Override
+    public long getPoolMisses() {
+        return poolMisses.sum();
+    }
+
+
+    @Override
+    public long getPowerCacheHits() {
+        return powerCacheHits.sum();
+    }
+
+
+    @Override
+    public long getPowerCacheMisses() {
+        return powerCacheMisses.sum();
+    }
+
+
+    @Override
+    public long getResultCacheHits() {
+        return resultCacheHits.sum();
+    }
+
+
+    @Override
+    public long getResultCacheMisses() {
+        return resultCacheMisses.sum();
+    }
+
+
+    @Override
+    public void reset() {
+        traversalSteps.reset();
+        nodesAllocated.reset();
+        conversions.reset();
+        poolHits.reset();
+        poolMisses.reset();
+        powerCacheHits.reset();
+        powerCacheMisses.reset();
+        resultCacheHits.reset();
+        resultCacheMisses.reset();
+    }
+
+    // ====================== internal helpers ======================
+
+    static void traversed(int steps) {
+        INSTANCE.traversalSteps.add(steps);
+    }
+
+    static void nodeAllocated() {
+        INSTANCE.nodesAllocated.increment();
+    }
+
+    static void converted() {
+        INSTANCE.conversions.increment();
+    }
+
+    static void poolHit() {
+        INSTANCE.poolHits.increment();
+    }
+
+    static void poolMissed() {
+        INSTANCE.poolMisses.increment();
+    }
+
+    static void powerCacheHit() {
+        INSTANCE.powerCacheHits.increment();
+    }
+
+    static void powerCacheMissed() {
+        INSTANCE.powerCacheMisses.increment();
+    }
+
+    static void resultCacheHit() {
+        INSTANCE.resultCacheHits.increment();
+    }
+
+    static void resultCacheMissed() {
+        INSTANCE.resultCacheMisses.increment();
+    }
+
+    private static void register(NumberListMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // counters keep working without JMX
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+/**
+ * Management interface of <tt>NumberListMetrics</tt>.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public interface NumberListMetricsMBean {
+
+    /**
+     * @return number of nodes passed while looking up elements by index.
+     */
+    long getTraversalSteps();
+
+    /**
+     * @return number of list nodes allocated.
+     */
+    long getNodesAllocated();
+
+    /**
+     * @return number of conversions between list digits and numeric value.
+     */
+    long getConversions();
+
+    /**
+     * @return number of nodes reused from node pools of all lists.
+     */
+    long getPoolHits();
+
+    /**
+     * @return number of node requests of pooled lists, which had to allocate.
+     */
+    long getPoolMisses();
+
+    /**
+     * @return number of base powers reused from the shared power table cache.
+     */
+    long getPowerCacheHits();
+
+    /**
+     * @return number of base powers, which had to be computed.
+     */
+    long getPowerCacheMisses();
+
+    /**
+     * @return number of operation results returned from the result cache.
+     */
+    long getResultCacheHits();
+
+    /**
+     * @return number of operation results, which had to be computed while
+     * the result cache was enabled.
+     */
+    long getResultCacheMisses();
+
+    /**
+     * Resets all counters to zero.
+     */
+    void reset();
+}
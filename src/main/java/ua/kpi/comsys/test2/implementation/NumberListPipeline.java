@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pipelined processing of pairs of <b>decimal</b> number files.<p>
+ *
+ * Each job reads two files, multiplies the numbers with
+ * <tt>additionalOperation</tt>, converts the product with
+ * <tt>changeScale</tt> and saves it in <b>decimal</b> notation. Reading, parsing,
+ * computing and writing are separate stages connected by bounded queues,
+ * so disk and CPU work overlap and throughput is limited by the slowest
+ * stage only.<p>
+ *
+ * Command line usage:
+ * <pre>
+ * java ua.kpi.comsys.test2.implementation.NumberListPipeline &lt;output dir&gt; &lt;file1&gt; &lt;file2&gt; [&lt;file3&gt; &lt;file4&gt; ...]
+ * </pre>
+ * Files are paired in order, result of pair <tt>i</tt> is written to
+ * <tt>result-i.txt</tt> in the output directory.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public class NumberListPipeline {
+
+    private static final Envelope<?> END = new Envelope<>(null, null);
+
+    private final int queueCapacity;
+    private final int parseThreads;
+    private final int computeThreads;
+
+    /**
+     * Single unit of work: two input files and the output file.
+     */
+    public static final class Job {
+        private final File left;
+        private final File right;
+        private final File output;
+
+        public Job(File left, File right, File output) {
+            this.left = left;
+            this.right = right;
+            this.output = output;
+        }
+
+        public File getLeft() {
+            return left;
+        }
+
+        public File getRight() {
+            return right;
+        }
+
+        public File getOutput() {
+            return output;
+        }
+    }
+
+    /**
+     * Outcome of the pipeline run.
+     */
+    public static final class Report {
+        private final int completed;
+        private final Map<Job, Throwable> failures;
+
+        Report(int completed, Map<Job, Throwable> failures) {
+            this.completed = completed;
+            this.failures = Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * @return number of jobs, whose result was saved.
+         */
+        public int getCompleted() {
+            return completed;
+        }
+
+        /**
+         * @return failed jobs with the cause of failure.
+         */
+        public Map<Job, Throwable> getFailures() {
+            return failures;
+        }
+    }
+
+    /**
+     * Constructs pipeline with queues of 16 elements and parse and compute
+     * stages sized by number of available processors.
+     */
+    public NumberListPipeline() {
+        this(16, Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Constructs pipeline. Reading and writing stages use single thread
+     * each, since they are bound by the disk.
+     *
+     * @param queueCapacity - capacity of each queue between stages
+     * @param parseThreads - number of threads, parsing decimal text
+     * @param computeThreads - number of threads, performing arithmetic
+     */
+    public NumberListPipeline(int queueCapacity, int parseThreads, int computeThreads) {
+        if (queueCapacity < 1 || parseThreads < 1 || computeThreads < 1) {
+            throw new IllegalArgumentException("Pipeline sizes must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.parseThreads = parseThreads;
+        this.computeThreads = computeThreads;
+    }
+
+
+    /**
+     * Runs all jobs and waits for their completion.
+     *
+     * @param jobs - jobs to run
+     * @return report of the run.
+     * @throws InterruptedException if current thread was interrupted while waiting.
+     */
+    public Report run(List<Job> jobs) throws InterruptedException {
+        BlockingQueue<Envelope<String[]>> texts = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Envelope<NumberListImpl[]>> operands = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Envelope<NumberListImpl>> results = new ArrayBlockingQueue<>(queueCapacity);
+        Map<Job, Throwable> failures = new ConcurrentHashMap<>();
+        AtomicInteger completed = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>();
+        threads.add(startThread("pipeline-read", () -> {
+            try {
+                for (Job job : jobs) {
+                    String[] content;
+                    try {
+                        content = new String[] {read(job.getLeft()), read(job.getRight())};
+                    } catch (Throwable t) {
+                        failures.put(job, t);
+                        continue;
+                    }
+                    texts.put(new Envelope<>(job, content));
+                }
+            } finally {
+                signalEnd(texts, parseThreads);
+            }
+        }));
+        AtomicInteger parsers = new AtomicInteger(parseThreads);
+        for (int i = 0; i < parseThreads; i++) {
+            threads.add(startThread("pipeline-parse-" + i, () -> {
+                try {
+                    for (Envelope<String[]> e = texts.take(); e != END; e = texts.take()) {
+                        NumberListImpl[] parsed;
+                        try {
+                            parsed = parse(e.payload);
+                        } catch (Throwable t) {
+                            failures.put(e.job, t);
+                            continue;
+                        }
+                        operands.put(new Envelope<>(e.job, parsed));
+                    }
+                } finally {
+                    if (parsers.decrementAndGet() == 0) {
+                        signalEnd(operands, computeThreads);
+                    }
+                }
+            }));
+        }
+        AtomicInteger computers = new AtomicInteger(computeThreads);
+        for (int i = 0; i < computeThreads; i++) {
+            threads.add(startThread("pipeline-compute-" + i, () -> {
+                try {
+                    for (Envelope<NumberListImpl[]> e = operands.take(); e != END; e = operands.take()) {
+                        NumberListImpl result;
+                        try {
+                            result = e.payload[0].additionalOperation(e.payload[1]).changeScale();
+                        } catch (Throwable t) {
+                            failures.put(e.job, t);
+                            continue;
+                        }
+                        results.put(new Envelope<>(e.job, result));
+                    }
+                } finally {
+                    if (computers.decrementAndGet() == 0) {
+                        signalEnd(results, 1);
+                    }
+                }
+            }));
+        }
+        threads.add(startThread("pipeline-write", () -> {
+            boolean stopped = false;
+            try {
+                for (Envelope<NumberListImpl> e = results.take(); e != END; e = results.take()) {
+                    try {
+                        write(e.job.getOutput(), e.payload);
+                        completed.incrementAndGet();
+                    } catch (Throwable t) {
+                        failures.put(e.job, t);
+                    }
+                }
+                stopped = true;
+            } catch (InterruptedException e) {
+                stopped = true;
+                throw e;
+            } finally {
+                if (!stopped) {
+                    discardUntilEnd(results);
+                }
+            }
+        }));
+
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            throw e;
+        }
+        return new Report(completed.get(), failures);
+    }
+
+
+    /**
+     * Command line entry point.
+     *
+     * @param args - output directory followed by pairs of input files
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 3 || args.length % 2 == 0) {
+            System.err.println("Usage: NumberListPipeline <output dir> <file1> <file2> [<file3> <file4> ...]");
+            System.exit(2);
+        }
+        File outputDir = new File(args[0]);
+        outputDir.mkdirs();
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 1; i < args.length; i += 2) {
+            jobs.add(new Job(new File(args[i]), new File(args[i + 1]),
+                    new File(outputDir, "result-" + jobs.size() + ".txt")));
+        }
+        Report report = new NumberListPipeline().run(jobs);
+        for (Map.Entry<Job, Throwable> failure : report.getFailures().entrySet()) {
+            System.err.println(failure.getKey().getLeft() + " x " + failure.getKey().getRight()
+                    + ": " + failure.getValue());
+        }
+        System.out.println("Completed " + report.getCompleted() + " of " + jobs.size() + " jobs");
+        if (!report.getFailures().isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    // ====================== internal helpers ======================
+
+    private static String read(File file) throws IOException {
+        return Files.readString(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses both texts, empty list means the text is not a decimal number.
+     */
+    private static NumberListImpl[] parse(String[] texts) {
+        NumberListImpl left = new NumberListImpl(texts[0]);
+        NumberListImpl right = new NumberListImpl(texts[1]);
+        if (left.isEmpty() || right.isEmpty()) {
+            throw new NumberFormatException("Input is not a decimal number");
+        }
+        return new NumberListImpl[] {left, right};
+    }
+
+    /**
+     * Saves the result like <tt>saveList</tt>, but reports I/O errors.
+     */
+    private static void write(File file, NumberListImpl result) throws IOException {
+        Files.writeString(file.toPath(), result.toDecimalString(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Releases producers blocked on a full queue after its consumer failed.
+     */
+    private static void discardUntilEnd(BlockingQueue<? extends Envelope<?>> queue) throws InterruptedException {
+        while (queue.take() != END) {
+            // drop the result, its job is neither completed nor failed
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void signalEnd(BlockingQueue<Envelope<T>> queue, int consumers) throws InterruptedException {
+        for (int i = 0; i < consumers; i++) {
+            queue.put((Envelope<T>) END);
+        }
+    }
+
+    private static Thread startThread(String name, StageBody body) {
+        Thread thread = new Thread(() -> {
+            try {
+                body.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @FunctionalInterface
+    private interface StageBody {
+        void run() throws InterruptedException;
+    }
+
+    private static final class Envelope<T> {
+        private final Job job;
+        private final T payload;
+
+        Envelope(Job job, T payload) {
+            this.job = job;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * Sorts many numbers by value without comparisons.<p>
+ *
+ * Numbers in the same scale of notation are grouped by count of
+ * significant digits and then sorted with MSD radix sort over their
+ * digits, so no number is converted to <tt>BigInteger</tt>. The sort is
+ * stable. Numbers in mixed scales of notation are sorted by value.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public final class NumberListSorter {
+
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private NumberListSorter() {
+    }
+
+    /**
+     * Sorts array of numbers in ascending order of their values.
+     *
+     * @param lists - numbers to sort, must not contain <tt>null</tt>.
+     */
+    public static void sort(NumberList[] lists) {
+        int n = lists.length;
+        if (n < 2) {
+            return;
+        }
+        int base = NumberListImpl.baseOf(lists[0]);
+        for (NumberList list : lists) {
+            if (list == null) {
+                throw new NullPointerException();
+            }
+            if (NumberListImpl.baseOf(list) != base) {
+                sortByValue(lists);
+                return;
+            }
+        }
+        byte[][] keys = new byte[n][];
+        int maxLength = 0;
+        for (int i = 0; i < n; i++) {
+            keys[i] = significantDigits(NumberListImpl.digitsOf(lists[i]));
+            maxLength = Math.max(maxLength, keys[i].length);
+        }
+
+        int[] order = new int[n];
+        int[] lengthStart = new int[maxLength + 2];
+        for (byte[] key : keys) {
+            lengthStart[key.length + 1]++;
+        }
+        for (int l = 1; l < lengthStart.length; l++) {
+            lengthStart[l] += lengthStart[l - 1];
+        }
+        int[] next = Arrays.copyOf(lengthStart, lengthStart.length);
+        for (int i = 0; i < n; i++) {
+            order[next[keys[i].length]++] = i;
+        }
+
+        int[] buffer = new int[n];
+        for (int length = 1; length <= maxLength; length++) {
+            radixSort(keys, order, buffer, lengthStart[length], lengthStart[length + 1], length, base);
+        }
+
+        NumberList[] sorted = new NumberList[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = lists[order[i]];
+        }
+        System.arraycopy(sorted, 0, lists, 0, n);
+    }
+
+
+    /**
+     * Sorts list of numbers in ascending order of their values.
+     *
+     * @param lists - numbers to sort, must not contain <tt>null</tt>.
+     * @param <T> - type of numbers.
+     */
+    public static <T extends NumberList> void sort(List<T> lists) {
+        NumberList[] array = lists.toArray(new NumberList[0]);
+        sort(array);
+        ListIterator<T> it = lists.listIterator();
+        for (NumberList list : array) {
+            it.next();
+            @SuppressWarnings("unchecked")
+            T element = (T) list;
+            it.set(element);
+        }
+    }
+
+    // ====================== internal helpers ======================
+
+    /**
+     * MSD radix sort of <tt>order[from, to)</tt>, all keys have
+     * <tt>length</tt> digits. Uses explicit stack, so long keys with
+     * common prefixes don't overflow the call stack.
+     */
+    private static void radixSort(byte[][] keys, int[] order, int[] buffer,
+                                  int from, int to, int length, int base) {
+        ArrayDeque<int[]> ranges = new ArrayDeque<>();
+        ranges.push(new int[] {from, to, 0});
+        int[] count = new int[base + 1];
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.pop();
+            int lo = range[0];
+            int hi = range[1];
+            int depth = range[2];
+            if (hi - lo < 2 || depth == length) {
+                continue;
+            }
+            if (hi - lo <= INSERTION_THRESHOLD) {
+                insertionSort(keys, order, lo, hi, depth, length);
+                continue;
+            }
+            Arrays.fill(count, 0);
+            for (int i = lo; i < hi; i++) {
+                count[keys[order[i]][depth] + 1]++;
+            }
+            for (int d = 1; d <= base; d++) {
+                count[d] += count[d - 1];
+            }
+            for (int i = lo; i < hi; i++) {
+                int key = order[i];
+                buffer[lo + count[keys[key][depth]]++] = key;
+            }
+            System.arraycopy(buffer, lo, order, lo, hi - lo);
+            int start = lo;
+            for (int d = 0; d < base; d++) {
+                int end = lo + count[d];
+                if (end - start > 1) {
+                    ranges.push(new int[] {start, end, depth + 1});
+                }
+                start = end;
+            }
+        }
+    }
+
+    private static void insertionSort(byte[][] keys, int[] order, int lo, int hi, int depth, int length) {
+        for (int i = lo + 1; i < hi; i++) {
+            int key = order[i];
+            int j = i;
+            while (j > lo && compare(keys[order[j - 1]], keys[key], depth, length) > 0) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = key;
+        }
+    }
+
+    private static int compare(byte[] a, byte[] b, int from, int length) {
+        for (int i = from; i < length; i++) {
+            if (a[i] != b[i]) {
+                return a[i] - b[i];
+            }
+        }
+        return 0;
+    }
+
+    private static byte[] significantDigits(byte[] digits) {
+        int zeros = 0;
+        while (zeros < digits.length && digits[zeros] == 0) {
+            zeros++;
+        }
+        return zeros == 0 ? digits : Arrays.copyOfRange(digits, zeros, digits.length);
+    }
+
+    private static void sortByValue(NumberList[] lists) {
+        BigInteger[] values = new BigInteger[lists.length];
+        Integer[] order = new Integer[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            values[i] = NumberListImpl.valueOf(lists[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> values[i]));
+        NumberList[] sorted = new NumberList[lists.length];
+        for (int i = 0; i < lists.length; i++) {
+            sorted[i] = lists[order[i]];
+        }
+        System.arraycopy(sorted, 0, lists, 0, lists.length);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * <tt>NumberList</tt> which keeps digits outside of the Java heap.<p>
+ *
+ * Digits are stored one byte each, most significant first, in a native
+ * <tt>MemorySegment</tt>. The garbage collector sees only a small header
+ * object, so many large numbers don't add to heap scanning. Memory is
+ * released by {@link #close()}; any access after that throws
+ * <tt>IllegalStateException</tt>. A {@link Mode#CONFINED} list may be used
+ * by its creating thread only, a {@link Mode#SHARED} one by any thread.<p>
+ *
+ * Arithmetic and conversions are done by <tt>NumberListImpl</tt>, which
+ * accepts this list as an argument; {@link #of(NumberList, Mode)} copies
+ * any list off-heap.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public class OffHeapNumberList extends AbstractNumberList implements AutoCloseable {
+
+    /**
+     * Threads, which may access the list.
+     */
+    public enum Mode {
+        /** only the thread, which created the list */
+        CONFINED,
+        /** any thread, with external synchronization of modifications */
+        SHARED
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Mode mode;
+    private Arena arena;
+    private MemorySegment digits;
+    private int size;
+
+    /**
+     * Default constructor. Returns empty confined list in the main scale
+     * of notation.
+     */
+    public OffHeapNumberList() {
+        this(Mode.CONFINED);
+    }
+
+
+    /**
+     * Returns empty list in the main scale of notation.
+     *
+     * @param mode - threads, which may access the list.
+     */
+    public OffHeapNumberList(Mode mode) {
+        this(NumberListImpl.determineMainBase(), mode);
+    }
+
+
+    /**
+     * Constructs new <tt>OffHeapNumberList</tt> by <b>decimal</b> number
+     * in string notation.
+     *
+     * @param value - number in string notation.
+     * @param mode - threads, which may access the list.
+     */
+    public OffHeapNumberList(String value, Mode mode) {
+        this(mode);
+        store(new NumberListImpl(value).toDigitArray());
+    }
+
+
+    /**
+     * Returns off-heap copy of the list with the same digits and base.
+     *
+     * @param list - list to copy
+     * @param mode - threads, which may access the copy.
+     * @return copy of the list.
+     */
+    public static OffHeapNumberList of(NumberList list, Mode mode) {
+        OffHeapNumberList result = new OffHeapNumberList(NumberListImpl.baseOf(list), mode);
+        result.store(NumberListImpl.digitsOf(list));
+        return result;
+    }
+
+
+    /**
+     * Returns threads, which may access the list.
+     *
+     * @return mode of the list.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+
+    /**
+     * Tells whether the list was closed.
+     *
+     * @return <tt>true</tt> if native memory of the list is released.
+     */
+    public boolean isClosed() {
+        return arena == null;
+    }
+
+
+    /**
+     * Releases native memory of the list. Does nothing if the list is
+     * already closed.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+            digits = null;
+            size = 0;
+        }
+    }
+
+
+    @Override
+    public int size() {
+        checkOpen();
+        return size;
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        checkOpen();
+        checkElementIndex(index);
+        return digits.get(ValueLayout.JAVA_BYTE, index);
+    }
+
+
+    @Override
+    public Byte set(int index, Byte element) {
+        checkOpen();
+        checkDigit(element);
+        checkElementIndex(index);
+        byte old = digits.get(ValueLayout.JAVA_BYTE, index);
+        digits.set(ValueLayout.JAVA_BYTE, index, element);
+        return old;
+    }
+
+
+    @Override
+    public void add(int index, Byte element) {
+        checkOpen();
+        checkDigit(element);
+        checkPositionIndex(index);
+        ensureCapacity(size + 1);
+        MemorySegment.copy(digits, index, digits, index + 1, size - index);
+        digits.set(ValueLayout.JAVA_BYTE, index, element);
+        size++;
+        modCount++;
+    }
+
+
+    @Override
+    public Byte remove(int index) {
+        checkOpen();
+        checkElementIndex(index);
+        byte old = digits.get(ValueLayout.JAVA_BYTE, index);
+        MemorySegment.copy(digits, index + 1, digits, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+
+    @Override
+    public void clear() {
+        checkOpen();
+        size = 0;
+        modCount++;
+    }
+
+    // ====================== internal helpers ======================
+
+    OffHeapNumberList(int base, Mode mode) {
+        super(base);
+        if (mode == null) {
+            throw new NullPointerException();
+        }
+        this.mode = mode;
+        this.arena = open(mode);
+        this.digits = arena.allocate(INITIAL_CAPACITY);
+    }
+
+    long capacity() {
+        checkOpen();
+        return digits.byteSize();
+    }
+
+    @Override
+    byte[] toDigitArray() {
+        checkOpen();
+        byte[] result = new byte[size];
+        MemorySegment.copy(digits, ValueLayout.JAVA_BYTE, 0, result, 0, size);
+        return result;
+    }
+
+    @Override
+    void sortByCounts(boolean asc) {
+        checkOpen();
+        int[] counts = new int[base];
+        for (int i = 0; i < size; i++) {
+            counts[digits.get(ValueLayout.JAVA_BYTE, i)]++;
+        }
+        long offset = 0;
+        for (int i = 0; i < base; i++) {
+            int digit = asc ? i : base - 1 - i;
+            digits.asSlice(offset, counts[digit]).fill((byte) digit);
+            offset += counts[digit];
+        }
+        modCount++;
+    }
+
+    private static Arena open(Mode mode) {
+        return mode == Mode.SHARED ? Arena.ofShared() : Arena.ofConfined();
+    }
+
+    private void store(byte[] source) {
+        for (byte d : source) {
+            checkDigit(d);
+        }
+        ensureCapacity(source.length);
+        MemorySegment.copy(source, 0, digits, ValueLayout.JAVA_BYTE, 0, source.length);
+        size = source.length;
+        modCount++;
+    }
+
+    /**
+     * Moves digits into a larger segment of a new arena and releases the
+     * old one, so no memory is held until the list is closed.
+     */
+    private void ensureCapacity(int needed) {
+        long capacity = digits.byteSize();
+        if (needed <= capacity) {
+            return;
+        }
+        Arena grown = open(mode);
+        MemorySegment segment = grown.allocate(Math.max(needed, capacity * 2));
+        MemorySegment.copy(digits, 0, segment, 0, size);
+        arena.close();
+        arena = grown;
+        digits = segment;
+    }
+
+    private void checkOpen() {
+        if (arena == null) {
+            throw new IllegalStateException("OffHeapNumberList is closed");
+        }
+    }
+}
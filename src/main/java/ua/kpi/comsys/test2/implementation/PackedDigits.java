@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact binary form of <tt>NumberListImpl</tt>, used both as its
+ * serialization proxy and by {@link NumberListImpl#encode()}.<p>
+ *
+ * Layout: base in one byte, number of digits as a big-endian <tt>int</tt>,
+ * then the digits most significant first, two per byte with the earlier
+ * digit in the high nibble. Odd count leaves the last low nibble zero.
+ * Encoding and decoding are linear, no conversion of the number is done.
+ * The digit count is not trusted: memory is allocated only for bytes which
+ * are actually present in the input.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class PackedDigits implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_BASE = 16;
+    private static final int HEADER_BYTES = 1 + Integer.BYTES;
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private int base;
+    private byte[] digits;
+
+    /**
+     * Constructor for deserialization only.
+     */
+    public PackedDigits() {
+    }
+
+    PackedDigits(int base, byte[] digits) {
+        this.base = base;
+        this.digits = digits;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(base);
+        out.writeInt(digits.length);
+        out.write(pack(digits));
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        base = in.readUnsignedByte();
+        int count = in.readInt();
+        if (base < 2 || base > MAX_BASE || count < 0) {
+            throw new InvalidObjectException("Corrupted header: base " + base + ", " + count + " digits");
+        }
+        byte[] packed = readPacked(in, packedLength(count));
+        try {
+            digits = unpack(packed, count, base);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+    }
+
+    // ====================== internal helpers ======================
+
+    private Object readResolve() {
+        return NumberListImpl.fromDigits(base, digits);
+    }
+
+    static ByteBuffer encode(int base, byte[] digits) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + packedLength(digits.length));
+        buffer.put((byte) base).putInt(digits.length).put(pack(digits));
+        return buffer.flip();
+    }
+
+    /**
+     * Reads one encoded list from the current position of the buffer.
+     */
+    static NumberListImpl decode(ByteBuffer buffer) {
+        int base = buffer.get() & 0xFF;
+        int count = buffer.getInt();
+        if (base < 2 || base > MAX_BASE || count < 0) {
+            throw new IllegalArgumentException("Corrupted header: base " + base + ", " + count + " digits");
+        }
+        if (packedLength(count) > buffer.remaining()) {
+            throw new IllegalArgumentException("Truncated digits: " + count + " digits need "
+                    + packedLength(count) + " bytes, " + buffer.remaining() + " remaining");
+        }
+        byte[] packed = new byte[packedLength(count)];
+        buffer.get(packed);
+        return NumberListImpl.fromDigits(base, unpack(packed, count, base));
+    }
+
+    /**
+     * Reads <tt>length</tt> bytes, growing the array in chunks as data
+     * arrives, so a forged length can't allocate more than the stream has.
+     */
+    private static byte[] readPacked(ObjectInput in, int length) throws IOException {
+        byte[] packed = new byte[Math.min(length, CHUNK_BYTES)];
+        int read = 0;
+        while (read < length) {
+            if (read == packed.length) {
+                packed = Arrays.copyOf(packed, (int) Math.min(length, (long) packed.length + CHUNK_BYTES));
+            }
+            int n = in.read(packed, read, packed.length - read);
+            if (n < 0) {
+                throw new InvalidObjectException("Truncated digits: " + read + " of " + length + " bytes");
+            }
+            read += n;
+        }
+        return packed;
+    }
+
+    private static int packedLength(int count) {
+        return (int) (((long) count + 1) >>> 1);
+    }
+
+    private static byte[] pack(byte[] digits) {
+        byte[] packed = new byte[packedLength(digits.length)];
+        int pairs = digits.length >>> 1;
+        for (int i = 0; i < pairs; i++) {
+            packed[i] = (byte) (digits[2 * i] << 4 | digits[2 * i + 1]);
+        }
+        if ((digits.length & 1) != 0) {
+            packed[pairs] = (byte) (digits[digits.length - 1] << 4);
+        }
+        return packed;
+    }
+
+    private static byte[] unpack(byte[] packed, int count, int base) {
+        byte[] digits = new byte[count];
+        for (int i = 0; i < count; i++) {
+            int b = packed[i >>> 1];
+            digits[i] = (byte) ((i & 1) == 0 ? (b >>> 4) & 0xF : b & 0xF);
+        }
+        if (!DigitKernels.get().allBelow(digits, 0, count, base)) {
+            throw new IllegalArgumentException("Invalid digit for base " + base);
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.lang.ref.SoftReference;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of powers <tt>base^(2^level)</tt> used by
+ * divide-and-conquer radix conversions.<p>
+ *
+ * Entries are kept in LRU order and evicted once their total size exceeds
+ * {@link #MAX_BITS}; values are softly referenced, so the collector may
+ * drop them under memory pressure. Hits and misses are reported to
+ * {@link NumberListMetrics}.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class PowerTableCache {
+
+    /** 64 MiB of magnitudes */
+    static final long MAX_BITS = 1L << 29;
+
+    private static final LinkedHashMap<Long, Power> POWERS =
+            new LinkedHashMap<>(64, 0.75f, true);
+    private static long cachedBits;
+
+    private PowerTableCache() {
+    }
+
+    /**
+     * Returns <tt>base^(2^level)</tt>.
+     *
+     * @param base - base of the power, at least 2.
+     * @param level - exponent level, non-negative.
+     * @return the power.
+     */
+    static BigInteger power(int base, int level) {
+        if (level == 0) {
+            return BigInteger.valueOf(base);
+        }
+        Long key = ((long) base << 32) | level;
+        synchronized (POWERS) {
+            Power ref = POWERS.get(key);
+            BigInteger cached = ref == null ? null : ref.get();
+            if (cached != null) {
+                NumberListMetrics.powerCacheHit();
+                return cached;
+            }
+            if (ref != null) {
+                POWERS.remove(key);
+                cachedBits -= ref.bits;
+            }
+        }
+        NumberListMetrics.powerCacheMissed();
+        BigInteger half = power(base, level - 1);
+        BigInteger result = half.multiply(half);
+        synchronized (POWERS) {
+            Power previous = POWERS.put(key, new Power(result));
+            cachedBits += result.bitLength() - (previous == null ? 0 : previous.bits);
+            evict();
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the highest level whose power has at most <tt>bits</tt> bits,
+     * estimated without computing the power.
+     *
+     * @param base - base of the power.
+     * @param bits - bit length limit.
+     * @return exponent level, at least 0.
+     */
+    static int levelFor(int base, long bits) {
+        double bitsPerDigit = Math.log(base) / Math.log(2);
+        int level = 0;
+        while ((double) (1L << (level + 1)) * bitsPerDigit <= bits) {
+            level++;
+        }
+        return level;
+    }
+
+
+    /**
+     * Drops all cached powers.
+     */
+    static void clear() {
+        synchronized (POWERS) {
+            POWERS.clear();
+            cachedBits = 0;
+        }
+    }
+
+    // ====================== internal helpers ======================
+
+    static int size() {
+        synchronized (POWERS) {
+            return POWERS.size();
+        }
+    }
+
+    private static void evict() {
+        Iterator<Map.Entry<Long, Power>> it = POWERS.entrySet().iterator();
+        while (cachedBits > MAX_BITS && it.hasNext()) {
+            cachedBits -= it.next().getValue().bits;
+            it.remove();
+        }
+    }
+
+    private static final class Power extends SoftReference<BigInteger> {
+
+        final long bits;
+
+        Power(BigInteger value) {
+            super(value);
+            this.bits = value.bitLength();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Memo of operation results, keyed by operation name, bases and digits
+ * of the operands.<p>
+ *
+ * Evicts least recently used entries once the total number of digits of
+ * keys and results exceeds the limit. Results are frozen, so hits return
+ * the same instance to every caller without copying.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class ResultCache {
+
+    private final long maxDigits;
+    private final LinkedHashMap<Key, NumberListImpl> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedDigits;
+
+    ResultCache(long maxDigits) {
+        if (maxDigits <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxDigits);
+        }
+        this.maxDigits = maxDigits;
+    }
+
+    /**
+     * Returns cached result for the key, computing and caching it on miss.
+     * Computation runs outside of the lock, so concurrent misses of the
+     * same key may compute it more than once.
+     *
+     * @param key - operation and operands.
+     * @param compute - computes the result on miss.
+     * @return frozen result.
+     */
+    NumberListImpl computeIfAbsent(Key key, Supplier<NumberListImpl> compute) {
+        synchronized (this) {
+            NumberListImpl cached = entries.get(key);
+            if (cached != null) {
+                NumberListMetrics.resultCacheHit();
+                return cached;
+            }
+        }
+        NumberListMetrics.resultCacheMissed();
+        NumberListImpl result = compute.get();
+        result.freeze();
+        long weight = key.digits() + result.size();
+        if (weight > maxDigits) {
+            return result;
+        }
+        synchronized (this) {
+            NumberListImpl previous = entries.putIfAbsent(key, result);
+            if (previous != null) {
+                return previous;
+            }
+            cachedDigits += weight;
+            Iterator<Map.Entry<Key, NumberListImpl>> it = entries.entrySet().iterator();
+            while (cachedDigits > maxDigits && it.hasNext()) {
+                Map.Entry<Key, NumberListImpl> eldest = it.next();
+                cachedDigits -= eldest.getKey().digits() + eldest.getValue().size();
+                it.remove();
+            }
+        }
+        return result;
+    }
+
+    // ====================== internal helpers ======================
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long cachedDigits() {
+        return cachedDigits;
+    }
+
+    /**
+     * Operation name with bases and digits of up to two operands.
+     */
+    static final class Key {
+
+        private final String operation;
+        private final int base;
+        private final byte[] digits;
+        private final int argBase;
+        private final byte[] argDigits;
+        private final int hash;
+
+        Key(String operation, int base, byte[] digits) {
+            this(operation, base, digits, 0, null);
+        }
+
+        Key(String operation, int base, byte[] digits, int argBase, byte[] argDigits) {
+            this.operation = operation;
+            this.base = base;
+            this.digits = digits;
+            this.argBase = argBase;
+            this.argDigits = argDigits;
+            int h = operation.hashCode();
+            h = 31 * h + base;
+            h = 31 * h + Arrays.hashCode(digits);
+            h = 31 * h + argBase;
+            h = 31 * h + Arrays.hashCode(argDigits);
+            this.hash = h;
+        }
+
+        long digits() {
+            return digits.length + (argDigits == null ? 0 : argDigits.length);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hash == other.hash && base == other.base && argBase == other.argBase
+                    && operation.equals(other.operation)
+                    && Arrays.equals(digits, other.digits)
+                    && Arrays.equals(argDigits, other.argDigits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Arrays;
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * <tt>NumberList</tt> stored as runs of equal digits.<p>
+ *
+ * Each run is a digit and the exclusive end position of the run, so
+ * <tt>get</tt> and <tt>set</tt> locate a run by binary search. Sorted lists
+ * consist of at most <tt>base</tt> runs and are built directly from digit
+ * counts. When runs become short on average, the list switches to dense
+ * storage with one byte per digit; sorting switches it back.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public class RunLengthNumberList extends AbstractNumberList {
+
+    private static final int MIN_AVERAGE_RUN = 4;
+    private static final int MIN_DENSE_SIZE = 32;
+
+    private byte[] runDigits = new byte[4];
+    private int[] runEnds = new int[4];
+    private int runCount;
+    private byte[] dense;
+    private int size;
+
+    /**
+     * Default constructor. Returns empty list in the main scale of notation.
+     */
+    public RunLengthNumberList() {
+        super(NumberListImpl.determineMainBase());
+    }
+
+
+    /**
+     * Constructs new <tt>RunLengthNumberList</tt> by <b>decimal</b> number
+     * in string notation.
+     *
+     * @param value - number in string notation.
+     */
+    public RunLengthNumberList(String value) {
+        this();
+        encode(new NumberListImpl(value).toDigitArray());
+    }
+
+
+    /**
+     * Returns new <tt>RunLengthNumberList</tt> with the same digits and
+     * base as the argument.
+     *
+     * @param list - list to copy
+     * @return copy of the list.
+     */
+    public static RunLengthNumberList of(NumberList list) {
+        RunLengthNumberList result = new RunLengthNumberList(NumberListImpl.baseOf(list));
+        result.encode(NumberListImpl.digitsOf(list));
+        return result;
+    }
+
+
+    /**
+     * Returns new <tt>RunLengthNumberList</tt> with digits of the argument
+     * in sorted order. The result is built from digit counts and holds at
+     * most <tt>base</tt> runs.
+     *
+     * @param list - list to sort
+     * @param ascending - order of digits
+     * @return sorted copy of the list.
+     */
+    public static RunLengthNumberList sorted(NumberList list, boolean ascending) {
+        RunLengthNumberList result = new RunLengthNumberList(NumberListImpl.baseOf(list));
+        int[] counts = new int[result.base];
+        for (byte d : NumberListImpl.digitsOf(list)) {
+            counts[d]++;
+        }
+        result.fromCounts(counts, ascending);
+        return result;
+    }
+
+
+    /**
+     * Tells whether digits are currently stored as runs.
+     *
+     * @return <tt>true</tt> for run-length storage, <tt>false</tt> for dense storage.
+     */
+    public boolean isRunLength() {
+        return dense == null;
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        checkElementIndex(index);
+        return dense != null ? dense[index] : runDigits[findRun(index)];
+    }
+
+
+    @Override
+    public Byte set(int index, Byte element) {
+        checkDigit(element);
+        checkElementIndex(index);
+        if (dense != null) {
+            byte old = dense[index];
+            dense[index] = element;
+            return old;
+        }
+        byte old = runDigits[findRun(index)];
+        if (old != element) {
+            removeFromRuns(index);
+            size--;
+            insertIntoRuns(index, element);
+            size++;
+            densifyIfFragmented();
+        }
+        return old;
+    }
+
+
+    @Override
+    public void add(int index, Byte element) {
+        checkDigit(element);
+        checkPositionIndex(index);
+        if (dense != null) {
+            if (size == dense.length) {
+                dense = Arrays.copyOf(dense, Math.max(8, size * 2));
+            }
+            System.arraycopy(dense, index, dense, index + 1, size - index);
+            dense[index] = element;
+            size++;
+        } else {
+            insertIntoRuns(index, element);
+            size++;
+            densifyIfFragmented();
+        }
+        modCount++;
+    }
+
+
+    @Override
+    public Byte remove(int index) {
+        checkElementIndex(index);
+        byte old;
+        if (dense != null) {
+            old = dense[index];
+            System.arraycopy(dense, index + 1, dense, index, size - index - 1);
+        } else {
+            old = runDigits[findRun(index)];
+            removeFromRuns(index);
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+
+    @Override
+    public void clear() {
+        dense = null;
+        runCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    // ====================== internal helpers ======================
+
+    RunLengthNumberList(int base) {
+        super(base);
+    }
+
+    int runCount() {
+        return runCount;
+    }
+
+    @Override
+    byte[] toDigitArray() {
+        if (dense != null) {
+            return Arrays.copyOf(dense, size);
+        }
+        byte[] digits = new byte[size];
+        for (int r = 0, start = 0; r < runCount; r++) {
+            Arrays.fill(digits, start, runEnds[r], runDigits[r]);
+            start = runEnds[r];
+        }
+        return digits;
+    }
+
+    @Override
+    void sortByCounts(boolean asc) {
+        int[] counts = new int[base];
+        if (dense != null) {
+            DigitKernels.get().count(dense, 0, size, counts);
+        } else {
+            for (int r = 0, start = 0; r < runCount; r++) {
+                counts[runDigits[r]] += runEnds[r] - start;
+                start = runEnds[r];
+            }
+        }
+        fromCounts(counts, asc);
+        modCount++;
+    }
+
+    private void fromCounts(int[] counts, boolean asc) {
+        dense = null;
+        runCount = 0;
+        size = 0;
+        for (int i = 0; i < base; i++) {
+            byte digit = (byte) (asc ? i : base - 1 - i);
+            if (counts[digit] > 0) {
+                size += counts[digit];
+                insertRun(runCount, digit, size);
+            }
+        }
+    }
+
+    private void encode(byte[] digits) {
+        clear();
+        for (int i = 0; i < digits.length; i++) {
+            if (runCount > 0 && runDigits[runCount - 1] == digits[i]) {
+                runEnds[runCount - 1]++;
+            } else {
+                insertRun(runCount, digits[i], i + 1);
+            }
+        }
+        size = digits.length;
+        densifyIfFragmented();
+    }
+
+    private void densifyIfFragmented() {
+        if (size >= MIN_DENSE_SIZE && (long) runCount * MIN_AVERAGE_RUN > size) {
+            byte[] digits = toDigitArray();
+            runCount = 0;
+            dense = digits;
+        }
+    }
+
+    /**
+     * Returns index of the run, which contains position.
+     */
+    private int findRun(int index) {
+        int lo = 0;
+        int hi = runCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (runEnds[mid] > index) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Inserts digit into runs. Size is not updated.
+     */
+    private void insertIntoRuns(int index, byte digit) {
+        int left = index > 0 ? findRun(index - 1) : -1;
+        if (left >= 0 && runDigits[left] == digit) {
+            shiftEnds(left, 1);
+            return;
+        }
+        int right = index < size ? (left >= 0 && runEnds[left] > index ? left : left + 1) : runCount;
+        if (right < runCount && runDigits[right] == digit) {
+            shiftEnds(right, 1);
+            return;
+        }
+        if (right == left) {
+            int end = runEnds[left];
+            runEnds[left] = index;
+            insertRun(left + 1, digit, index + 1);
+            insertRun(left + 2, runDigits[left], end + 1);
+            shiftEnds(left + 3, 1);
+        } else {
+            insertRun(right, digit, index + 1);
+            shiftEnds(right + 1, 1);
+        }
+    }
+
+    /**
+     * Removes digit from runs. Size is not updated.
+     */
+    private void removeFromRuns(int index) {
+        int r = findRun(index);
+        shiftEnds(r, -1);
+        int start = r == 0 ? 0 : runEnds[r - 1];
+        if (runEnds[r] > start) {
+            return;
+        }
+        deleteRun(r);
+        if (r > 0 && r < runCount && runDigits[r - 1] == runDigits[r]) {
+            runEnds[r - 1] = runEnds[r];
+            deleteRun(r);
+        }
+    }
+
+    private void shiftEnds(int from, int delta) {
+        for (int r = from; r < runCount; r++) {
+            runEnds[r] += delta;
+        }
+    }
+
+    private void insertRun(int at, byte digit, int end) {
+        if (runCount == runDigits.length) {
+            runDigits = Arrays.copyOf(runDigits, runCount * 2);
+            runEnds = Arrays.copyOf(runEnds, runCount * 2);
+        }
+        System.arraycopy(runDigits, at, runDigits, at + 1, runCount - at);
+        System.arraycopy(runEnds, at, runEnds, at + 1, runCount - at);
+        runDigits[at] = digit;
+        runEnds[at] = end;
+        runCount++;
+    }
+
+    private void deleteRun(int at) {
+        System.arraycopy(runDigits, at + 1, runDigits, at, runCount - at - 1);
+        System.arraycopy(runEnds, at + 1, runEnds, at, runCount - at - 1);
+        runCount--;
+    }
+}
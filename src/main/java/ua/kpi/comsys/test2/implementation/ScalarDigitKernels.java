@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+/**
+ * Plain loop implementation of <tt>DigitKernels</tt>.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class ScalarDigitKernels implements DigitKernels {
+
+    @Override
+    public boolean allBelow(byte[] digits, int from, int to, int base) {
+        for (int i = from; i < to; i++) {
+            if (digits[i] < 0 || digits[i] >= base) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int indexOf(byte[] digits, int from, int to, byte digit) {
+        for (int i = from; i < to; i++) {
+            if (digits[i] == digit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(byte[] digits, int from, int to, byte digit) {
+        for (int i = to - 1; i >= from; i--) {
+            if (digits[i] == digit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void count(byte[] digits, int from, int to, int[] counts) {
+        for (int i = from; i < to; i++) {
+            counts[digits[i]]++;
+        }
+    }
+
+    @Override
+    public void and(byte[] a, byte[] b, byte[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte) (a[i] & b[i]);
+        }
+    }
+
+    @Override
+    public void or(byte[] a, byte[] b, byte[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte) (a[i] | b[i]);
+        }
+    }
+
+    @Override
+    public int leadingZeros(byte[] digits, int from, int to) {
+        int i = from;
+        while (i < to && digits[i] == 0) {
+            i++;
+        }
+        return i - from;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+/**
+ * Read-only <tt>NumberList</tt> which represents a number in other scale of
+ * notation, returned by {@link NumberListImpl#changeScaleView()}.<p>
+ *
+ * Keeps digits of the source list, one byte per digit, captured when the
+ * view is created. If both bases are powers of two, every target digit is
+ * extracted from the source bits only when it is read; otherwise the
+ * target digits are converted at once. All modifications throw
+ * <tt>UnsupportedOperationException</tt>, {@link #materialize()} returns
+ * an independent modifiable copy.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public class ScaleView extends AbstractNumberList {
+
+    private final byte[] source;
+    private final int sourceBits;
+    private final int targetBits;
+    private final int size;
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> with the digits of the view.
+     *
+     * @return modifiable copy of the view.
+     */
+    public NumberListImpl materialize() {
+        return NumberListImpl.fromDigits(base, toDigitArray());
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        checkElementIndex(index);
+        if (targetBits == 0) {
+            return source[index];
+        }
+        long pos = (long) (size - 1 - index) * targetBits;
+        int digit = 0;
+        for (int b = targetBits - 1; b >= 0; b--) {
+            digit = (digit << 1) | sourceBit(pos + b);
+        }
+        return (byte) digit;
+    }
+
+
+    @Override
+    public boolean add(Byte e) {
+        throw readOnly();
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        throw readOnly();
+    }
+
+
+    @Override
+    public void shiftRight() {
+        throw readOnly();
+    }
+
+    // ====================== internal helpers ======================
+
+    /**
+     * View of the number in <tt>targetBase</tt>.
+     */
+    ScaleView(int sourceBase, byte[] digits, int targetBase) {
+        super(targetBase);
+        int fromBits = NumberListImpl.bitsPerDigit(sourceBase);
+        int toBits = NumberListImpl.bitsPerDigit(targetBase);
+        if (fromBits < 0 || toBits < 0) {
+            this.source = NumberListImpl.fromBigInteger(targetBase,
+                    NumberListImpl.valueOf(NumberListImpl.fromDigits(sourceBase, digits))).toDigitArray();
+            this.sourceBits = 0;
+            this.targetBits = 0;
+            this.size = source.length;
+            return;
+        }
+        int first = 0;
+        while (first < digits.length && digits[first] == 0) {
+            first++;
+        }
+        long used = first == digits.length ? 0
+                : (long) (digits.length - first - 1) * fromBits + 32 - Integer.numberOfLeadingZeros(digits[first]);
+        this.source = digits;
+        this.sourceBits = fromBits;
+        this.targetBits = toBits;
+        this.size = (int) Math.max(1, (used + toBits - 1) / toBits);
+    }
+
+    @Override
+    void sortByCounts(boolean asc) {
+        throw readOnly();
+    }
+
+    private int sourceBit(long pos) {
+        long digit = pos / sourceBits;
+        if (digit >= source.length) {
+            return 0;
+        }
+        return (source[source.length - 1 - (int) digit] >>> (int) (pos % sourceBits)) & 1;
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("ScaleView is read-only, use materialize()");
+    }
+}
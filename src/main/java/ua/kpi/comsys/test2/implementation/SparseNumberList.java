@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * <tt>NumberList</tt> which stores only non-zero digits.<p>
+ *
+ * Non-zero digits are kept with their indexes in a sorted array, together
+ * with the total length of the list, so numbers like powers of the base
+ * take memory proportional to the number of non-zero digits only.
+ * Multiplication by another number is performed as a sum of shifted
+ * copies of that number, one for each non-zero digit.<p>
+ *
+ * Storage follows the density: once the share of non-zero digits exceeds
+ * {@link #MAX_DENSITY}, digits are moved into a plain array with one byte
+ * per digit, and back into the sparse form when the share drops below
+ * half of it. Edits of a dense list don't shift the entry arrays.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public class SparseNumberList extends AbstractNumberList {
+
+    /**
+     * Maximum share of non-zero digits, for which sparse storage is used
+     * by the list and chosen by {@link #compact(NumberList)}.
+     */
+    public static final double MAX_DENSITY = 0.125;
+
+    private static final int MAX_SHIFTED_COPIES = 64;
+    /** shorter lists are kept sparse regardless of density */
+    private static final int MIN_DENSE_SIZE = 32;
+
+    private int[] positions = new int[4];
+    private byte[] values = new byte[4];
+    /** all digits if the list is dense, <tt>null</tt> if it is sparse */
+    private byte[] dense;
+    /** number of non-zero digits */
+    private int count;
+    private int size;
+
+    /**
+     * Default constructor. Returns empty list in the main scale of notation.
+     */
+    public SparseNumberList() {
+        super(NumberListImpl.determineMainBase());
+    }
+
+
+    /**
+     * Constructs new <tt>SparseNumberList</tt> by <b>decimal</b> number
+     * in string notation.
+     *
+     * @param value - number in string notation.
+     */
+    public SparseNumberList(String value) {
+        this();
+        encode(new NumberListImpl(value).toDigitArray());
+    }
+
+
+    /**
+     * Returns new <tt>SparseNumberList</tt> with the same digits and
+     * base as the argument.
+     *
+     * @param list - list to copy
+     * @return copy of the list.
+     */
+    public static SparseNumberList of(NumberList list) {
+        SparseNumberList result = new SparseNumberList(NumberListImpl.baseOf(list));
+        result.encode(NumberListImpl.digitsOf(list));
+        return result;
+    }
+
+
+    /**
+     * Returns copy of the list in the representation, which suits its
+     * density: <tt>SparseNumberList</tt> if share of non-zero digits does
+     * not exceed {@link #MAX_DENSITY}, otherwise <tt>NumberListImpl</tt>.
+     *
+     * @param list - list to copy
+     * @return copy of the list.
+     */
+    public static NumberList compact(NumberList list) {
+        byte[] digits = NumberListImpl.digitsOf(list);
+        int nonZero = 0;
+        for (byte d : digits) {
+            if (d != 0) {
+                nonZero++;
+            }
+        }
+        int base = NumberListImpl.baseOf(list);
+        if (nonZero > digits.length * MAX_DENSITY) {
+            return NumberListImpl.fromDigits(base, digits);
+        }
+        SparseNumberList result = new SparseNumberList(base);
+        result.encode(digits);
+        return result;
+    }
+
+
+    /**
+     * Returns share of non-zero digits.
+     *
+     * @return density in range <tt>[0, 1]</tt>, <tt>0</tt> for empty list.
+     */
+    public double density() {
+        return size == 0 ? 0 : (double) count / size;
+    }
+
+
+    /**
+     * Returns new <tt>NumberListImpl</tt> which represents the product of
+     * the number, stored in the list, and the argument.<p>
+     *
+     * The argument is multiplied by each non-zero digit and shifted by its
+     * position; the copies are summed. Lists with many non-zero digits fall
+     * back to ordinary multiplication.
+     *
+     * @param arg - second factor
+     * @return product in the scale of notation of the current list.
+     */
+    public NumberListImpl multiply(NumberList arg) {
+        if (arg == null) {
+            return new NumberListImpl();
+        }
+        BigInteger factor = NumberListImpl.valueOf(arg);
+        if (dense != null || count > MAX_SHIFTED_COPIES) {
+            return NumberListImpl.fromBigInteger(base, NumberListImpl.valueOf(this).multiply(factor));
+        }
+        BigInteger bigBase = BigInteger.valueOf(base);
+        int bits = NumberListImpl.bitsPerDigit(base);
+        BigInteger product = BigInteger.ZERO;
+        for (int i = 0; i < count; i++) {
+            int exponent = size - 1 - positions[i];
+            BigInteger copy = factor.multiply(BigInteger.valueOf(values[i]));
+            copy = bits > 0 ? copy.shiftLeft(bits * exponent) : copy.multiply(bigBase.pow(exponent));
+            product = product.add(copy);
+        }
+        return NumberListImpl.fromBigInteger(base, product);
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        checkElementIndex(index);
+        if (dense != null) {
+            return dense[index];
+        }
+        int i = Arrays.binarySearch(positions, 0, count, index);
+        return i >= 0 ? values[i] : 0;
+    }
+
+
+    @Override
+    public Byte set(int index, Byte element) {
+        checkDigit(element);
+        checkElementIndex(index);
+        if (dense != null) {
+            byte old = dense[index];
+            dense[index] = element;
+            count += (element != 0 ? 1 : 0) - (old != 0 ? 1 : 0);
+            adjustStorage();
+            return old;
+        }
+        int i = Arrays.binarySearch(positions, 0, count, index);
+        byte old = 0;
+        if (i >= 0) {
+            old = values[i];
+            if (element == 0) {
+                deleteEntry(i);
+            } else {
+                values[i] = element;
+            }
+        } else if (element != 0) {
+            insertEntry(-i - 1, index, element);
+        }
+        adjustStorage();
+        return old;
+    }
+
+
+    @Override
+    public void add(int index, Byte element) {
+        checkDigit(element);
+        checkPositionIndex(index);
+        if (dense != null) {
+            if (size == dense.length) {
+                dense = Arrays.copyOf(dense, size * 2);
+            }
+            System.arraycopy(dense, index, dense, index + 1, size - index);
+            dense[index] = element;
+            if (element != 0) {
+                count++;
+            }
+        } else {
+            int i = Arrays.binarySearch(positions, 0, count, index);
+            int from = i >= 0 ? i : -i - 1;
+            for (int j = from; j < count; j++) {
+                positions[j]++;
+            }
+            if (element != 0) {
+                insertEntry(from, index, element);
+            }
+        }
+        size++;
+        modCount++;
+        adjustStorage();
+    }
+
+
+    @Override
+    public Byte remove(int index) {
+        checkElementIndex(index);
+        byte old = 0;
+        if (dense != null) {
+            old = dense[index];
+            System.arraycopy(dense, index + 1, dense, index, size - index - 1);
+            if (old != 0) {
+                count--;
+            }
+        } else {
+            int i = Arrays.binarySearch(positions, 0, count, index);
+            int from = -i - 1;
+            if (i >= 0) {
+                old = values[i];
+                deleteEntry(i);
+                from = i;
+            }
+            for (int j = from; j < count; j++) {
+                positions[j]--;
+            }
+        }
+        size--;
+        modCount++;
+        adjustStorage();
+        return old;
+    }
+
+
+    @Override
+    public void clear() {
+        dense = null;
+        count = 0;
+        size = 0;
+        modCount++;
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        if (size < 2) {
+            return;
+        }
+        if (dense != null) {
+            byte first = dense[0];
+            System.arraycopy(dense, 1, dense, 0, size - 1);
+            dense[size - 1] = first;
+            modCount++;
+            return;
+        }
+        if (count > 0 && positions[0] == 0) {
+            byte first = values[0];
+            deleteEntry(0);
+            insertEntry(count, size, first);
+        }
+        for (int j = 0; j < count; j++) {
+            positions[j]--;
+        }
+        modCount++;
+    }
+
+
+    @Override
+    public void shiftRight() {
+        if (size < 2) {
+            return;
+        }
+        if (dense != null) {
+            byte last = dense[size - 1];
+            System.arraycopy(dense, 0, dense, 1, size - 1);
+            dense[0] = last;
+            modCount++;
+            return;
+        }
+        if (count > 0 && positions[count - 1] == size - 1) {
+            byte last = values[count - 1];
+            deleteEntry(count - 1);
+            insertEntry(0, -1, last);
+        }
+        for (int j = 0; j < count; j++) {
+            positions[j]++;
+        }
+        modCount++;
+    }
+
+    // ====================== internal helpers ======================
+
+    SparseNumberList(int base) {
+        super(base);
+    }
+
+    int nonZeroCount() {
+        return count;
+    }
+
+    boolean isDense() {
+        return dense != null;
+    }
+
+    @Override
+    byte[] toDigitArray() {
+        if (dense != null) {
+            return Arrays.copyOf(dense, size);
+        }
+        byte[] digits = new byte[size];
+        for (int i = 0; i < count; i++) {
+            digits[positions[i]] = values[i];
+        }
+        return digits;
+    }
+
+    @Override
+    void sortByCounts(boolean asc) {
+        int[] counts = new int[base];
+        if (dense != null) {
+            for (int i = 0; i < size; i++) {
+                counts[dense[i]]++;
+            }
+            int from = 0;
+            for (int k = 0; k < base; k++) {
+                int digit = asc ? k : base - 1 - k;
+                Arrays.fill(dense, from, from + counts[digit], (byte) digit);
+                from += counts[digit];
+            }
+            modCount++;
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            counts[values[i]]++;
+        }
+        int p = asc ? size - count : 0;
+        count = 0;
+        for (int k = 1; k < base; k++) {
+            byte digit = (byte) (asc ? k : base - k);
+            for (int c = counts[digit]; c > 0; c--) {
+                insertEntry(count, p++, digit);
+            }
+        }
+        modCount++;
+    }
+
+    private void encode(byte[] digits) {
+        clear();
+        int nonZero = 0;
+        for (byte d : digits) {
+            if (d != 0) {
+                nonZero++;
+            }
+        }
+        size = digits.length;
+        if (size >= MIN_DENSE_SIZE && nonZero > size * MAX_DENSITY) {
+            dense = Arrays.copyOf(digits, size);
+            count = nonZero;
+        } else {
+            fillEntries(digits);
+        }
+    }
+
+    private void fillEntries(byte[] digits) {
+        count = 0;
+        for (int i = 0; i < digits.length; i++) {
+            if (digits[i] != 0) {
+                insertEntry(count, i, digits[i]);
+            }
+        }
+    }
+
+    /**
+     * Switches between sparse and dense storage when density crosses the
+     * bounds; the gap between them keeps edits near a bound from switching
+     * back and forth.
+     */
+    private void adjustStorage() {
+        if (dense == null) {
+            if (size >= MIN_DENSE_SIZE && count > size * MAX_DENSITY) {
+                dense = Arrays.copyOf(toDigitArray(), size + (size >>> 1));
+                positions = new int[4];
+                values = new byte[4];
+            }
+        } else if (count < size * MAX_DENSITY / 2) {
+            byte[] digits = Arrays.copyOf(dense, size);
+            dense = null;
+            fillEntries(digits);
+        }
+    }
+
+    private void insertEntry(int at, int position, byte value) {
+        if (count == positions.length) {
+            positions = Arrays.copyOf(positions, count * 2);
+            values = Arrays.copyOf(values, count * 2);
+        }
+        System.arraycopy(positions, at, positions, at + 1, count - at);
+        System.arraycopy(values, at, values, at + 1, count - at);
+        positions[at] = position;
+        values[at] = value;
+        count++;
+    }
+
+    private void deleteEntry(int at) {
+        System.arraycopy(positions, at + 1, positions, at, count - at - 1);
+        System.arraycopy(values, at + 1, values, at, count - at - 1);
+        count--;
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import ua.kpi.comsys.test2.NumberList;
+
+/**
+ * <tt>NumberList</tt> backed by unrolled circular doubly linked list.<p>
+ *
+ * Each node holds a block of up to {@value #BLOCK_CAPACITY} digits. Full
+ * blocks are split on insertion, sparse blocks are merged with a neighbour
+ * on removal. An index of block start positions is kept next to the blocks,
+ * so element lookup is a binary search over blocks followed by an array
+ * access, and insertion or removal in the middle shifts at most one block.
+ * Cyclic shifts only move the logical start, no digits are moved.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+public class UnrolledNumberList extends AbstractNumberList {
+
+    static final int BLOCK_CAPACITY = 64;
+    private static final int MERGE_THRESHOLD = BLOCK_CAPACITY / 4;
+
+    private Block head;
+    private int size;
+    private int blockCount;
+    private int offset;
+    private Block[] blocks;
+    private int[] starts;
+
+    /**
+     * Default constructor. Returns empty list in the main scale of notation.
+     */
+    public UnrolledNumberList() {
+        super(NumberListImpl.determineMainBase());
+    }
+
+
+    /**
+     * Constructs new <tt>UnrolledNumberList</tt> by <b>decimal</b> number
+     * in string notation.
+     *
+     * @param value - number in string notation.
+     */
+    public UnrolledNumberList(String value) {
+        this();
+        appendPhysical(new NumberListImpl(value).toDigitArray());
+    }
+
+
+    /**
+     * Returns new <tt>UnrolledNumberList</tt> with the same digits and base
+     * as the argument.
+     *
+     * @param list - list to copy
+     * @return copy of the list.
+     */
+    public static UnrolledNumberList of(NumberList list) {
+        UnrolledNumberList result = new UnrolledNumberList(NumberListImpl.baseOf(list));
+        result.appendPhysical(NumberListImpl.digitsOf(list));
+        return result;
+    }
+
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+
+    @Override
+    public Byte get(int index) {
+        checkElementIndex(index);
+        int p = physical(index);
+        int k = locate(p);
+        return blocks[k].digits[p - starts[k]];
+    }
+
+
+    @Override
+    public Byte set(int index, Byte element) {
+        checkDigit(element);
+        checkElementIndex(index);
+        int p = physical(index);
+        int k = locate(p);
+        Block block = blocks[k];
+        byte old = block.digits[p - starts[k]];
+        block.digits[p - starts[k]] = element;
+        return old;
+    }
+
+
+    @Override
+    public void add(int index, Byte element) {
+        checkDigit(element);
+        checkPositionIndex(index);
+        int p = index;
+        if (offset != 0) {
+            p += offset;
+            if (p >= size) {
+                p -= size;
+                offset++;
+            }
+        }
+        insertPhysical(p, element);
+        modCount++;
+    }
+
+
+    @Override
+    public Byte remove(int index) {
+        checkElementIndex(index);
+        int p = physical(index);
+        int k = locate(p);
+        Block block = blocks[k];
+        int pos = p - starts[k];
+        byte old = block.digits[pos];
+        System.arraycopy(block.digits, pos + 1, block.digits, pos, block.count - pos - 1);
+        block.count--;
+        size--;
+        if (p < offset) {
+            offset--;
+        }
+        if (offset >= size) {
+            offset = 0;
+        }
+        if (block.count == 0) {
+            unlinkBlock(block);
+        } else if (block.count < MERGE_THRESHOLD && blockCount > 1 && tryMerge(block)) {
+            invalidateIndex();
+        } else {
+            for (int j = k + 1; j < blockCount; j++) {
+                starts[j]--;
+            }
+        }
+        modCount++;
+        return old;
+    }
+
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Byte) || size == 0) {
+            return -1;
+        }
+        int p = physicalIndexOf(offset, size, (Byte) o);
+        if (p < 0 && offset > 0) {
+            p = physicalIndexOf(0, offset, (Byte) o);
+        }
+        return p < 0 ? -1 : logical(p);
+    }
+
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Byte) || size == 0) {
+            return -1;
+        }
+        int p = offset > 0 ? physicalLastIndexOf(0, offset, (Byte) o) : -1;
+        if (p < 0) {
+            p = physicalLastIndexOf(offset, size, (Byte) o);
+        }
+        return p < 0 ? -1 : logical(p);
+    }
+
+
+    @Override
+    public void clear() {
+        head = null;
+        size = 0;
+        blockCount = 0;
+        offset = 0;
+        invalidateIndex();
+        modCount++;
+    }
+
+
+    @Override
+    public void shiftLeft() {
+        if (size > 1) {
+            offset = (offset + 1) % size;
+            modCount++;
+        }
+    }
+
+
+    @Override
+    public void shiftRight() {
+        if (size > 1) {
+            offset = (offset + size - 1) % size;
+            modCount++;
+        }
+    }
+
+    // ====================== internal helpers ======================
+
+    UnrolledNumberList(int base) {
+        super(base);
+    }
+
+    int blockCount() {
+        return blockCount;
+    }
+
+    @Override
+    byte[] toDigitArray() {
+        byte[] physical = new byte[size];
+        Block block = head;
+        for (int i = 0, p = 0; i < blockCount; i++, block = block.next) {
+            System.arraycopy(block.digits, 0, physical, p, block.count);
+            p += block.count;
+        }
+        if (offset == 0) {
+            return physical;
+        }
+        byte[] digits = new byte[size];
+        System.arraycopy(physical, offset, digits, 0, size - offset);
+        System.arraycopy(physical, 0, digits, size - offset, offset);
+        return digits;
+    }
+
+    @Override
+    void sortByCounts(boolean asc) {
+        if (size < 2) {
+            return;
+        }
+        int[] counts = new int[base];
+        DigitKernels.get().count(toDigitArray(), 0, size, counts);
+        byte[] sorted = new byte[size];
+        int p = 0;
+        for (int i = 0; i < base; i++) {
+            byte digit = (byte) (asc ? i : base - 1 - i);
+            for (int c = counts[digit]; c > 0; c--) {
+                sorted[p++] = digit;
+            }
+        }
+        clear();
+        appendPhysical(sorted);
+    }
+
+    private int physical(int index) {
+        int p = index + offset;
+        return p >= size ? p - size : p;
+    }
+
+    private int logical(int p) {
+        return p >= offset ? p - offset : p + size - offset;
+    }
+
+    private int physicalIndexOf(int from, int to, byte digit) {
+        DigitKernels kernels = DigitKernels.get();
+        for (int k = locate(from); k < blockCount && starts[k] < to; k++) {
+            int start = starts[k];
+            Block block = blocks[k];
+            int i = kernels.indexOf(block.digits, Math.max(from - start, 0), Math.min(to - start, block.count), digit);
+            if (i >= 0) {
+                return start + i;
+            }
+        }
+        return -1;
+    }
+
+    private int physicalLastIndexOf(int from, int to, byte digit) {
+        DigitKernels kernels = DigitKernels.get();
+        for (int k = locate(to - 1); k >= 0 && starts[k] + blocks[k].count > from; k--) {
+            int start = starts[k];
+            Block block = blocks[k];
+            int i = kernels.lastIndexOf(block.digits, Math.max(from - start, 0), Math.min(to - start, block.count), digit);
+            if (i >= 0) {
+                return start + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends digits to the physical end, filling blocks completely.
+     * Offset has to be zero.
+     */
+    private void appendPhysical(byte[] digits) {
+        int from = 0;
+        if (head != null && head.prev.count < BLOCK_CAPACITY) {
+            Block last = head.prev;
+            int n = Math.min(BLOCK_CAPACITY - last.count, digits.length);
+            System.arraycopy(digits, 0, last.digits, last.count, n);
+            last.count += n;
+            from = n;
+        }
+        while (from < digits.length) {
+            Block block = new Block();
+            int n = Math.min(BLOCK_CAPACITY, digits.length - from);
+            System.arraycopy(digits, from, block.digits, 0, n);
+            block.count = n;
+            linkBlockAfter(block, head == null ? null : head.prev);
+            from += n;
+        }
+        size += digits.length;
+        invalidateIndex();
+        modCount++;
+    }
+
+    private void insertPhysical(int p, byte digit) {
+        if (head == null) {
+            linkBlockAfter(new Block(), null);
+        }
+        Block block;
+        int pos;
+        int k;
+        if (p == size) {
+            block = head.prev;
+            pos = block.count;
+            k = blockCount - 1;
+            if (block.count == BLOCK_CAPACITY) {
+                Block tail = new Block();
+                linkBlockAfter(tail, block);
+                block = tail;
+                pos = 0;
+            }
+        } else {
+            k = locate(p);
+            block = blocks[k];
+            pos = p - starts[k];
+            if (block.count == BLOCK_CAPACITY) {
+                Block upper = split(block);
+                if (pos > block.count) {
+                    pos -= block.count;
+                    block = upper;
+                }
+            }
+        }
+        System.arraycopy(block.digits, pos, block.digits, pos + 1, block.count - pos);
+        block.digits[pos] = digit;
+        block.count++;
+        size++;
+        if (starts != null) {
+            for (int j = k + 1; j < blockCount; j++) {
+                starts[j]++;
+            }
+        }
+    }
+
+    private Block split(Block block) {
+        Block upper = new Block();
+        int half = block.count / 2;
+        upper.count = block.count - half;
+        System.arraycopy(block.digits, half, upper.digits, 0, upper.count);
+        block.count = half;
+        linkBlockAfter(upper, block);
+        return upper;
+    }
+
+    /**
+     * Merges sparse block into a neighbour, which is not separated by
+     * the physical end of the list.
+     */
+    private boolean tryMerge(Block block) {
+        if (block.next != head && block.count + block.next.count <= BLOCK_CAPACITY) {
+            Block next = block.next;
+            System.arraycopy(next.digits, 0, block.digits, block.count, next.count);
+            block.count += next.count;
+            unlinkBlock(next);
+            return true;
+        }
+        if (block != head && block.prev.count + block.count <= BLOCK_CAPACITY) {
+            Block prev = block.prev;
+            System.arraycopy(block.digits, 0, prev.digits, prev.count, block.count);
+            prev.count += block.count;
+            unlinkBlock(block);
+            return true;
+        }
+        return false;
+    }
+
+    private void linkBlockAfter(Block block, Block predecessor) {
+        if (predecessor == null) {
+            head = block;
+            block.next = block;
+            block.prev = block;
+        } else {
+            block.prev = predecessor;
+            block.next = predecessor.next;
+            predecessor.next.prev = block;
+            predecessor.next = block;
+        }
+        blockCount++;
+        invalidateIndex();
+    }
+
+    private void unlinkBlock(Block block) {
+        if (blockCount == 1) {
+            head = null;
+        } else {
+            block.prev.next = block.next;
+            block.next.prev = block.prev;
+            if (block == head) {
+                head = block.next;
+            }
+        }
+        blockCount--;
+        invalidateIndex();
+    }
+
+    private void invalidateIndex() {
+        blocks = null;
+        starts = null;
+    }
+
+    /**
+     * Returns index of the block, which contains physical position.
+     */
+    private int locate(int p) {
+        if (blocks == null) {
+            blocks = new Block[blockCount];
+            starts = new int[blockCount];
+            Block block = head;
+            for (int i = 0, start = 0; i < blockCount; i++, block = block.next) {
+                blocks[i] = block;
+                starts[i] = start;
+                start += block.count;
+            }
+        }
+        int lo = 0;
+        int hi = blockCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (starts[mid] <= p) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private static final class Block {
+        private final byte[] digits = new byte[BLOCK_CAPACITY];
+        private int count;
+        private Block next;
+        private Block prev;
+    }
+}
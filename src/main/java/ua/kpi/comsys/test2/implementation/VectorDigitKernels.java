@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of <tt>DigitKernels</tt>. Processes
+ * <tt>SPECIES_PREFERRED</tt> lanes per step, tails are handled by
+ * scalar loops.
+ *
+ * @author Zernyshkin Illia Denisovich, IO-34, №3404
+ *
+ */
+final class VectorDigitKernels implements DigitKernels {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private final ScalarDigitKernels scalar = new ScalarDigitKernels();
+
+    @Override
+    public boolean allBelow(byte[] digits, int from, int to, int base) {
+        int i = from;
+        for (; i + LANES <= to; i += LANES) {
+            ByteVector v = ByteVector.fromArray(SPECIES, digits, i);
+            if (v.compare(VectorOperators.UNSIGNED_GE, (byte) base).anyTrue()) {
+                return false;
+            }
+        }
+        return scalar.allBelow(digits, i, to, base);
+    }
+
+    @Override
+    public int indexOf(byte[] digits, int from, int to, byte digit) {
+        int i = from;
+        for (; i + LANES <= to; i += LANES) {
+            VectorMask<Byte> found = ByteVector.fromArray(SPECIES, digits, i).eq(digit);
+            if (found.anyTrue()) {
+                return i + found.firstTrue();
+            }
+        }
+        return scalar.indexOf(digits, i, to, digit);
+    }
+
+    @Override
+    public int lastIndexOf(byte[] digits, int from, int to, byte digit) {
+        int i = to;
+        for (; i - LANES >= from; i -= LANES) {
+            VectorMask<Byte> found = ByteVector.fromArray(SPECIES, digits, i - LANES).eq(digit);
+            if (found.anyTrue()) {
+                return i - LANES + found.lastTrue();
+            }
+        }
+        return scalar.lastIndexOf(digits, from, i, digit);
+    }
+
+    @Override
+    public void count(byte[] digits, int from, int to, int[] counts) {
+        int bound = from + (to - from) / LANES * LANES;
+        for (int i = from; i < bound; i += LANES) {
+            ByteVector v = ByteVector.fromArray(SPECIES, digits, i);
+            for (int d = 0; d < counts.length; d++) {
+                counts[d] += v.eq((byte) d).trueCount();
+            }
+        }
+        scalar.count(digits, bound, to, counts);
+    }
+
+    @Override
+    public void and(byte[] a, byte[] b, byte[] result, int length) {
+        int i = 0;
+        for (; i + LANES <= length; i += LANES) {
+            ByteVector.fromArray(SPECIES, a, i).and(ByteVector.fromArray(SPECIES, b, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = (byte) (a[i] & b[i]);
+        }
+    }
+
+    @Override
+    public void or(byte[] a, byte[] b, byte[] result, int length) {
+        int i = 0;
+        for (; i + LANES <= length; i += LANES) {
+            ByteVector.fromArray(SPECIES, a, i).or(ByteVector.fromArray(SPECIES, b, i)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = (byte) (a[i] | b[i]);
+        }
+    }
+
+    @Override
+    public int leadingZeros(byte[] digits, int from, int to) {
+        int i = from;
+        for (; i + LANES <= to; i += LANES) {
+            VectorMask<Byte> nonZero = ByteVector.fromArray(SPECIES, digits, i).compare(VectorOperators.NE, (byte) 0);
+            if (nonZero.anyTrue()) {
+                return i + nonZero.firstTrue() - from;
+            }
+        }
+        return i - from + scalar.leadingZeros(digits, i, to);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDecimalRoundTrip() throws Exception {
+        BigInteger value = BigInteger.valueOf(3404).pow(3000);
+        Path path = folder.getRoot().toPath().resolve("number.txt");
+
+        new NumberListImpl(value.toString()).saveAsync(path).get();
+        NumberListImpl loaded = NumberListImpl.loadAsync(path).get();
+
+        assertEquals(value.toString(), Files.readString(path));
+        assertEquals(value.toString(), loaded.toDecimalString());
+        assertEquals(new NumberListImpl(path.toFile()), loaded);
+    }
+
+
+    @Test
+    public void testNativeRoundTrip() throws Exception {
+        NumberListImpl list = new NumberListImpl("123456789012345678901234567890");
+        Path path = folder.getRoot().toPath().resolve("native.txt");
+
+        list.saveAsync(path, NumberListImpl.Format.NATIVE).get();
+        NumberListImpl loaded = NumberListImpl.loadAsync(path, NumberListImpl.Format.NATIVE).get();
+
+        assertEquals(list.toString(), Files.readString(path));
+        assertEquals(list, loaded);
+        assertEquals(list.size(), loaded.size());
+    }
+
+
+    @Test
+    public void testSaveCapturesDigits() throws Exception {
+        NumberListImpl list = new NumberListImpl("100");
+        Path path = folder.getRoot().toPath().resolve("snapshot.txt");
+
+        CompletableFuture<Void> saved = list.saveAsync(path);
+        list.clear();
+        saved.get();
+
+        assertEquals("100", Files.readString(path));
+    }
+
+
+    @Test
+    public void testConversionRunsOnExecutor() throws Exception {
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = task -> {
+            tasks.incrementAndGet();
+            new Thread(task).start();
+        };
+        NumberListImpl list = new NumberListImpl(BigInteger.valueOf(3404).pow(300).toString());
+        Path path = folder.getRoot().toPath().resolve("executor.txt");
+
+        list.saveAsync(path, NumberListImpl.Format.DECIMAL, executor).get();
+        NumberListImpl loaded = NumberListImpl.loadAsync(path, NumberListImpl.Format.DECIMAL, executor).get();
+
+        assertEquals(2, tasks.get());
+        assertEquals(list, loaded);
+    }
+
+
+    @Test
+    public void testMissingFileFails() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("missing.txt");
+        try {
+            NumberListImpl.loadAsync(path).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+
+    @Test
+    public void testBadContentFails() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("bad.txt");
+        Files.writeString(path, "12a4", StandardCharsets.US_ASCII);
+        try {
+            NumberListImpl.loadAsync(path).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NumberFormatException);
+        }
+        Files.writeString(path, "", StandardCharsets.US_ASCII);
+        try {
+            NumberListImpl.loadAsync(path, NumberListImpl.Format.NATIVE).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NumberFormatException);
+        }
+    }
+
+
+    @Test
+    public void testSaveIntoDirectoryFails() throws Exception {
+        try {
+            new NumberListImpl("1").saveAsync(folder.getRoot().toPath()).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+}
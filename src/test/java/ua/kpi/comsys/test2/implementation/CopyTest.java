@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CopyTest {
+
+    @After
+    public void tearDown() {
+        NumberListImpl.disableResultCache();
+    }
+
+
+    @Test
+    public void testCopyIsIndependent() {
+        NumberListImpl list = new NumberListImpl(BigInteger.valueOf(3404).pow(100).toString());
+        String digits = list.toString();
+
+        NumberListImpl copy = list.copy();
+        copy.set(0, (byte) 0xA);
+        copy.add((byte) 1);
+        list.remove(list.size() - 1);
+
+        assertNotEquals(digits, copy.toString());
+        assertEquals(digits.substring(0, digits.length() - 1), list.toString());
+        assertEquals("A" + digits.substring(1) + "1", copy.toString());
+        assertEquals(new BigInteger(copy.toString(), 16).toString(), copy.toDecimalString());
+    }
+
+
+    @Test
+    public void testCopyDoesNotConvert() {
+        NumberListImpl list = new NumberListImpl(BigInteger.valueOf(3404).pow(500).toString());
+        list.toDecimalString();
+        NumberListMetrics metrics = NumberListMetrics.getInstance();
+        long conversions = metrics.getConversions();
+
+        NumberListImpl copy = list.copy();
+        NumberListImpl other = NumberListImpl.copyOf(list.changeScaleView());
+        String decimal = copy.toDecimalString();
+
+        assertEquals(conversions, metrics.getConversions());
+        assertEquals(list.toDecimalString(), decimal);
+        assertEquals(list.toString(), other.toString());
+    }
+
+
+    @Test
+    public void testCopyOfFrozenResult() {
+        NumberListImpl.enableResultCache(1 << 16);
+        NumberListImpl result = new NumberListImpl("3404").changeScale();
+
+        NumberListImpl copy = result.copy();
+        copy.add((byte) 0);
+
+        assertTrue(result.isFrozen());
+        assertFalse(copy.isFrozen());
+        assertEquals(result.toString() + "0", copy.toString());
+    }
+
+
+    @Test
+    public void testCopyOfOtherLists() {
+        Random random = new Random(3404);
+        for (int bits : new int[] {1, 7, 64, 333, 4000}) {
+            BigInteger value = new BigInteger(bits, random);
+            NumberListImpl list = new NumberListImpl(value.toString());
+
+            assertEquals(list, NumberListImpl.copyOf(list.changeScale()));
+            assertEquals(list, NumberListImpl.copyOf(LimbNumberList.of(list)));
+            assertEquals(list, NumberListImpl.copyOf(new RunLengthNumberList(value.toString())));
+            assertEquals(list.toString(), NumberListImpl.copyOf(list.changeScaleView()).toString());
+            assertEquals(value.toString(), NumberListImpl.copyOf(NumberListImpl.fromBigInteger(10, value))
+                    .toDecimalString());
+        }
+        assertTrue(NumberListImpl.copyOf(new NumberListImpl()).isEmpty());
+        assertTrue(NumberListImpl.copyOf(new LimbNumberList()).isEmpty());
+    }
+}
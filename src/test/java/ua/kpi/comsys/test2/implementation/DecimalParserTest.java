@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DecimalParserTest {
+
+    @Test
+    public void testRandomNumbers() {
+        Random random = new Random(3404);
+        for (int length = 1; length < 700; length += 1 + length / 10) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                text.append((char) ('0' + random.nextInt(10)));
+            }
+            assertEquals(new BigInteger(text.toString()), DecimalParser.parse(text.toString()));
+        }
+    }
+
+
+    @Test
+    public void testLargeNumber() {
+        BigInteger expected = BigInteger.TEN.pow(20000).subtract(BigInteger.valueOf(3404));
+
+        assertEquals(expected, DecimalParser.parse(expected.toString()));
+        assertEquals(BigInteger.TEN.pow(20000), DecimalParser.parse("1" + "0".repeat(20000)));
+    }
+
+
+    @Test
+    public void testLeadingZerosAndWhitespace() {
+        assertEquals(BigInteger.ZERO, DecimalParser.parse("0000000000000000000"));
+        assertEquals(BigInteger.valueOf(42), DecimalParser.parse(" \t000000000000000042\r\n"));
+        assertEquals(BigInteger.valueOf(12345678), DecimalParser.parse(
+                "x12345678y".getBytes(StandardCharsets.US_ASCII), 1, 9));
+    }
+
+
+    @Test
+    public void testRejectsNonDigits() {
+        assertNull(DecimalParser.parse(""));
+        assertNull(DecimalParser.parse("   "));
+        assertNull(DecimalParser.parse("-12"));
+        assertNull(DecimalParser.parse("+12"));
+        assertNull(DecimalParser.parse("1234567/"));
+        assertNull(DecimalParser.parse("12345678:"));
+        assertNull(DecimalParser.parse("123 456"));
+        assertNull(DecimalParser.parse("1234567890123456789٠"));
+        assertNull(DecimalParser.parse("١٢٣"));
+        assertNull(DecimalParser.parse("12345678¹"));
+    }
+
+
+    @Test
+    public void testSwarChunks() {
+        for (int i = 0; i < 256; i++) {
+            byte[] chunk = "12345678".getBytes(StandardCharsets.US_ASCII);
+            chunk[i % 8] = (byte) i;
+            long word = 0;
+            for (int j = 7; j >= 0; j--) {
+                word = word << 8 | (chunk[j] & 0xFF);
+            }
+            assertEquals(i >= '0' && i <= '9', DecimalParser.isEightDigits(word));
+        }
+        long word = 0;
+        for (int j = 7; j >= 0; j--) {
+            word = word << 8 | ("98765432".charAt(j));
+        }
+        assertEquals(98765432, DecimalParser.eightDigits(word));
+    }
+
+
+    @Test
+    public void testUnicodeDigitsLeaveListEmpty() {
+        assertTrue(new NumberListImpl("١٢٣").isEmpty());
+        assertEquals("1234", new NumberListImpl("1234").toDecimalString());
+    }
+}
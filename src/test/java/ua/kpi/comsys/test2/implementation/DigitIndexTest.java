@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DigitIndexTest {
+
+    @Test
+    public void testLookups() {
+        NumberListImpl list = new NumberListImpl("1212144468782345613");
+        String digits = list.toString();
+        list.enableDigitIndex();
+
+        for (byte d = 0; d < 16; d++) {
+            char c = NumberListImpl.digitToChar(d);
+            assertEquals("indexOf " + c, digits.indexOf(c), list.indexOf(d));
+            assertEquals("lastIndexOf " + c, digits.lastIndexOf(c), list.lastIndexOf(d));
+            assertEquals("contains " + c, digits.indexOf(c) >= 0, list.contains(d));
+        }
+        assertFalse(list.contains((byte) 16));
+        assertFalse(list.contains(1));
+        assertEquals(-1, list.indexOf((byte) -1));
+    }
+
+    @Test
+    public void testRemoveObject() {
+        NumberListImpl list = new NumberListImpl("255");
+        list.enableDigitIndex();
+
+        assertTrue(list.remove(Byte.valueOf((byte) 15)));
+        assertEquals("F", list.toString());
+        assertFalse(list.contains((byte) 0));
+        assertEquals(0, list.indexOf((byte) 15));
+    }
+
+    @Test
+    public void testIndexFollowsModifications() {
+        Random random = new Random(3404);
+        NumberListImpl list = new NumberListImpl();
+        list.enableDigitIndex();
+        List<Byte> model = new ArrayList<>();
+        for (int step = 0; step < 4000; step++) {
+            int op = random.nextInt(11);
+            byte digit = (byte) random.nextInt(16);
+            if (op < 3 || model.isEmpty()) {
+                int index = random.nextInt(model.size() + 1);
+                list.add(index, digit);
+                model.add(index, digit);
+            } else if (op == 3) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.remove(index), list.remove(index));
+            } else if (op == 4) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.set(index, digit), list.set(index, digit));
+            } else if (op == 5) {
+                list.shiftLeft();
+                if (model.size() > 1) {
+                    Collections.rotate(model, -1);
+                }
+            } else if (op == 6) {
+                list.shiftRight();
+                if (model.size() > 1) {
+                    Collections.rotate(model, 1);
+                }
+            } else if (op == 7) {
+                int i = random.nextInt(model.size());
+                int j = random.nextInt(model.size());
+                list.swap(i, j);
+                Collections.swap(model, i, j);
+            } else if (op == 8) {
+                ListIterator<Byte> it = list.listIterator(random.nextInt(model.size()));
+                int index = it.nextIndex();
+                it.next();
+                if (random.nextBoolean()) {
+                    it.set(digit);
+                    model.set(index, digit);
+                } else {
+                    it.remove();
+                    model.remove(index);
+                }
+            } else if (op == 9) {
+                int index = random.nextInt(model.size() + 1);
+                List<Byte> items = Arrays.asList(digit, (byte) ((digit + 1) % 16));
+                list.addAll(index, items);
+                model.addAll(index, items);
+            } else {
+                list.removeAll(Collections.singleton(digit));
+                model.removeAll(Collections.singleton(digit));
+            }
+            assertEquals(model.indexOf(digit), list.indexOf(digit));
+            assertEquals(model.lastIndexOf(digit), list.lastIndexOf(digit));
+            assertEquals(model.contains(digit), list.contains(digit));
+        }
+
+        assertEquals(model, new ArrayList<>(list));
+    }
+
+    @Test
+    public void testRemoveAllRemovesEveryOccurrence() {
+        NumberListImpl list = new NumberListImpl("4368");
+        list.removeAll(Collections.singleton((byte) 1));
+
+        assertEquals("0", list.toString());
+    }
+
+    @Test
+    public void testAddAllKeepsOrder() {
+        NumberListImpl list = new NumberListImpl("18");
+        list.addAll(Arrays.asList((byte) 3, (byte) 4));
+
+        assertEquals("1234", list.toString());
+    }
+
+    @Test
+    public void testIteratorAddAtEnd() {
+        NumberListImpl list = new NumberListImpl("18");
+        list.enableDigitIndex();
+        ListIterator<Byte> it = list.listIterator();
+        while (it.hasNext()) {
+            it.next();
+        }
+        it.add((byte) 3);
+
+        assertEquals("123", list.toString());
+        assertEquals(2, list.indexOf((byte) 3));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.Random;
+
+/**
+ * Compares scalar and selected digit kernels. Run with <tt>make bench</tt>.
+ */
+public class DigitKernelsBenchmark {
+
+    static final int LENGTH = 1 << 20;
+    static final int ROUNDS = 200;
+
+    interface Kernel {
+        long run(DigitKernels kernels, byte[] a, byte[] b, byte[] out);
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(3404);
+        byte[] a = new byte[LENGTH];
+        byte[] b = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            a[i] = (byte) random.nextInt(15);
+            b[i] = (byte) random.nextInt(16);
+        }
+        a[LENGTH - 3] = 15;
+        byte[] zeros = new byte[LENGTH];
+        zeros[LENGTH - 1] = 1;
+        byte[] out = new byte[LENGTH];
+
+        DigitKernels scalar = new ScalarDigitKernels();
+        DigitKernels selected = DigitKernels.get();
+        System.out.println("Selected kernels: " + selected.getClass().getSimpleName()
+                + ", " + LENGTH + " digits, " + ROUNDS + " rounds");
+        System.out.printf("%-14s %12s %12s %8s%n", "kernel", "scalar, ms", "selected, ms", "speedup");
+
+        measure("allBelow", scalar, selected, a, b, out, (k, x, y, o) -> k.allBelow(x, 0, LENGTH, 16) ? 1 : 0);
+        measure("indexOf", scalar, selected, a, b, out, (k, x, y, o) -> k.indexOf(x, 0, LENGTH, (byte) 15));
+        measure("lastIndexOf", scalar, selected, a, b, out, (k, x, y, o) -> k.lastIndexOf(x, 0, LENGTH, (byte) 15));
+        measure("count", scalar, selected, a, b, out, (k, x, y, o) -> {
+            int[] counts = new int[16];
+            k.count(x, 0, LENGTH, counts);
+            return counts[7];
+        });
+        measure("and", scalar, selected, a, b, out, (k, x, y, o) -> {
+            k.and(x, y, o, LENGTH);
+            return o[LENGTH - 1];
+        });
+        measure("or", scalar, selected, a, b, out, (k, x, y, o) -> {
+            k.or(x, y, o, LENGTH);
+            return o[LENGTH - 1];
+        });
+        measure("leadingZeros", scalar, selected, zeros, b, out, (k, x, y, o) -> k.leadingZeros(x, 0, LENGTH));
+    }
+
+    static void measure(String name, DigitKernels scalar, DigitKernels selected,
+                        byte[] a, byte[] b, byte[] out, Kernel kernel) {
+        long expected = kernel.run(scalar, a, b, out);
+        if (kernel.run(selected, a, b, out) != expected) {
+            throw new AssertionError(name + " results differ");
+        }
+        double scalarMs = time(scalar, a, b, out, kernel);
+        double selectedMs = time(selected, a, b, out, kernel);
+        System.out.printf("%-14s %12.3f %12.3f %7.2fx%n", name, scalarMs, selectedMs, scalarMs / selectedMs);
+    }
+
+    static double time(DigitKernels kernels, byte[] a, byte[] b, byte[] out, Kernel kernel) {
+        long sink = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += kernel.run(kernels, a, b, out);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += kernel.run(kernels, a, b, out);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return elapsed / 1e6 / ROUNDS;
+    }
+}
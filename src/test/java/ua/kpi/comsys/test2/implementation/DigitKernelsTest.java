@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assume.assumeTrue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DigitKernelsTest {
+
+    DigitKernels scalar = new ScalarDigitKernels();
+    DigitKernels selected = DigitKernels.get();
+
+    @Test
+    public void testSameResultsAsScalar() {
+        Random random = new Random(3404);
+        for (int length : new int[] {0, 1, 7, 31, 32, 33, 64, 100, 1000, 4099}) {
+            byte[] a = new byte[length];
+            byte[] b = new byte[length];
+            for (int i = 0; i < length; i++) {
+                a[i] = (byte) (random.nextInt(8) == 0 ? random.nextInt(16) : 0);
+                b[i] = (byte) random.nextInt(16);
+            }
+            int from = length / 3;
+            for (byte d = 0; d < 16; d++) {
+                assertEquals(scalar.indexOf(a, from, length, d), selected.indexOf(a, from, length, d));
+                assertEquals(scalar.lastIndexOf(a, 0, length - from, d), selected.lastIndexOf(a, 0, length - from, d));
+            }
+            assertEquals(scalar.allBelow(b, from, length, 16), selected.allBelow(b, from, length, 16));
+            assertEquals(scalar.allBelow(b, 0, length, 15), selected.allBelow(b, 0, length, 15));
+            assertEquals(scalar.leadingZeros(a, from, length), selected.leadingZeros(a, from, length));
+
+            int[] expectedCounts = new int[16];
+            int[] counts = new int[16];
+            scalar.count(b, from, length, expectedCounts);
+            selected.count(b, from, length, counts);
+            assertArrayEquals(expectedCounts, counts);
+
+            byte[] expected = new byte[length];
+            byte[] actual = new byte[length];
+            scalar.and(a, b, expected, length);
+            selected.and(a, b, actual, length);
+            assertArrayEquals(expected, actual);
+            scalar.or(a, b, expected, length);
+            selected.or(a, b, actual, length);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testNegativeDigitIsInvalid() {
+        byte[] digits = new byte[100];
+        digits[70] = -1;
+
+        assertEquals(false, selected.allBelow(digits, 0, digits.length, 16));
+    }
+
+    @Test
+    public void testAndOr() {
+        assumeTrue(NumberListImpl.getRecordBookNumber() % 5 == 4);
+        Random random = new Random(3404);
+        for (int trial = 0; trial < 50; trial++) {
+            BigInteger a = new BigInteger(1 + random.nextInt(500), random);
+            BigInteger b = new BigInteger(1 + random.nextInt(500), random);
+            NumberListImpl left = new NumberListImpl(a.toString());
+            NumberListImpl right = new NumberListImpl(b.toString());
+
+            assertEquals(a.and(b).toString(), left.and(right).toDecimalString());
+            assertEquals(a.or(b).toString(), left.or(right).toDecimalString());
+            assertEquals(a.and(b).toString(16).toUpperCase(), left.and(right).toString());
+        }
+        assertEquals("2", new NumberListImpl("15").and(new NumberListImpl("2")).toDecimalString());
+        assertEquals("15", new NumberListImpl("15").or(new NumberListImpl("2")).toDecimalString());
+    }
+
+    @Test
+    public void testUnrolledIndexOf() {
+        Random random = new Random(3404);
+        UnrolledNumberList list = new UnrolledNumberList();
+        for (int i = 0; i < 1000; i++) {
+            list.add((byte) random.nextInt(16));
+        }
+        for (int shift = 0; shift < 300; shift++) {
+            list.shiftLeft();
+            NumberListImpl expected = list.toNumberListImpl();
+            for (byte d = 0; d < 16; d++) {
+                assertEquals(expected.indexOf(d), list.indexOf(d));
+                assertEquals(expected.lastIndexOf(d), list.lastIndexOf(d));
+            }
+        }
+    }
+}
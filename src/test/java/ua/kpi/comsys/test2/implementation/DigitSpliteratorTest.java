@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DigitSpliteratorTest {
+
+    @Test
+    public void testBalancedSplit() {
+        Spliterator.OfInt right = new DigitSpliterator(new byte[101]);
+        Spliterator.OfInt left = right.trySplit();
+
+        assertEquals(50, left.estimateSize());
+        assertEquals(51, right.estimateSize());
+        assertTrue(right.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertNull(new DigitSpliterator(new byte[1]).trySplit());
+    }
+
+
+    @Test
+    public void testDigitsStream() {
+        NumberListImpl list = new NumberListImpl("123456789012345678901234567890");
+        byte[] digits = list.toDigitArray();
+
+        int[] sequential = list.digits().toArray();
+        int[] parallel = list.digits().parallel().toArray();
+
+        assertEquals(digits.length, sequential.length);
+        for (int i = 0; i < digits.length; i++) {
+            assertEquals(digits[i], sequential[i]);
+        }
+        assertArrayEquals(sequential, parallel);
+        assertEquals(list.digits().sum(), list.digits().parallel().sum());
+    }
+
+
+    @Test
+    public void testParallelStream() {
+        NumberListImpl list = new NumberListImpl("9".repeat(5000));
+
+        List<Byte> collected = list.parallelStream().collect(Collectors.toList());
+
+        assertEquals(list.size(), collected.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(list.get(i), collected.get(i));
+        }
+        assertEquals(list.stream().filter(d -> d == 15).count(),
+                list.parallelStream().filter(d -> d == 15).count());
+    }
+
+
+    @Test
+    public void testSnapshot() {
+        NumberListImpl list = new NumberListImpl("255");
+        int size = list.size();
+        Spliterator<Byte> spliterator = list.spliterator();
+        list.clear();
+
+        assertEquals(size, spliterator.estimateSize());
+        assertEquals(0, new UnrolledNumberList().digits().count());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DivisionTest {
+
+    @Test
+    public void testSmallDivisor() {
+        NumberListImpl list = new NumberListImpl("15");
+        NumberListImpl[] result = list.divideAndRemainder(new NumberListImpl("2"));
+
+        assertEquals("Quotient is wrong", new NumberListImpl("7"), result[0]);
+        assertEquals("Remainder is wrong", new NumberListImpl("1"), result[1]);
+        assertEquals("Operand has changed", "15", list.toDecimalString());
+    }
+
+    @Test
+    public void testDividendLessThanDivisor() {
+        NumberListImpl list = new NumberListImpl("3");
+
+        assertEquals("0", list.divide(new NumberListImpl("10")).toDecimalString());
+        assertEquals("3", list.remainder(new NumberListImpl("10")).toDecimalString());
+    }
+
+    @Test
+    public void testBigOperands() {
+        Random random = new Random(3404);
+        for (int bits : new int[] {20, 40, 300, 5000, 40000}) {
+            BigInteger a = new BigInteger(bits * 2, random);
+            BigInteger b = new BigInteger(bits, random).add(BigInteger.ONE);
+            NumberListImpl[] result = new NumberListImpl(a.toString())
+                    .divideAndRemainder(new NumberListImpl(b.toString()));
+            BigInteger[] expected = a.divideAndRemainder(b);
+
+            assertEquals("Quotient is wrong for " + bits + " bits", expected[0].toString(), result[0].toDecimalString());
+            assertEquals("Remainder is wrong for " + bits + " bits", expected[1].toString(), result[1].toDecimalString());
+        }
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivisionByZero() {
+        new NumberListImpl("15").divide(new NumberListImpl("0"));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivisionByEmpty() {
+        new NumberListImpl("15").remainder(new NumberListImpl());
+    }
+
+    @Test
+    public void testNullDivisor() {
+        NumberListImpl[] result = new NumberListImpl("15").divideAndRemainder(null);
+
+        assertTrue(result[0].isEmpty());
+        assertTrue(result[1].isEmpty());
+        assertTrue(new NumberListImpl("15").divide(null).isEmpty());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assume.assumeTrue;
+import static org.junit.Assert.assertEquals;
+
+public class LimbNumberListTest {
+
+    static BigInteger NUMBER = BigInteger.valueOf(3404).pow(300).add(BigInteger.valueOf(17));
+
+    @Test
+    public void testValueAndDigits() {
+        assumeTrue(NumberListImpl.bitsPerDigit(NumberListImpl.determineMainBase()) > 0);
+        LimbNumberList list = new LimbNumberList(NUMBER.toString());
+        NumberListImpl expected = new NumberListImpl(NUMBER.toString());
+
+        assertEquals(NUMBER.toString(), list.toDecimalString());
+        assertEquals(expected.toString(), list.toString());
+        assertEquals(expected, list);
+        assertEquals(list, LimbNumberList.of(expected));
+        assertEquals((expected.size() * NumberListImpl.bitsPerDigit(list.base) + 63) / 64, list.limbCount());
+        assertEquals("0", new LimbNumberList("0").toString());
+    }
+
+
+    @Test
+    public void testChangeScaleAndOperation() {
+        assumeTrue(NumberListImpl.bitsPerDigit(NumberListImpl.determineMainBase()) > 0);
+        LimbNumberList list = new LimbNumberList(NUMBER.toString());
+        NumberListImpl expected = new NumberListImpl(NUMBER.toString());
+        BigInteger factor = new BigInteger("1212144468782345613").pow(7);
+
+        assertEquals(expected.changeScale().toString(), list.changeScale().toString());
+        assertEquals(expected.additionalOperation(new NumberListImpl(factor.toString())).toString(),
+                list.additionalOperation(new NumberListImpl(factor.toString())).toString());
+        assertEquals("0", new LimbNumberList().changeScale().toString());
+    }
+
+
+    @Test
+    public void testRandomEditsInAllPowerOfTwoBases() {
+        for (int base : new int[] {2, 4, 8, 16}) {
+            Random random = new Random(3404 + base);
+            LimbNumberList list = new LimbNumberList(base);
+            List<Byte> model = new ArrayList<>();
+            for (int step = 0; step < 4000; step++) {
+                int op = random.nextInt(7);
+                byte digit = (byte) random.nextInt(base);
+                if (op < 3 || model.isEmpty()) {
+                    int index = random.nextInt(model.size() + 1);
+                    list.add(index, digit);
+                    model.add(index, digit);
+                } else if (op == 3) {
+                    int index = random.nextInt(model.size());
+                    assertEquals(model.remove(index), list.remove(index));
+                } else if (op == 4) {
+                    int index = random.nextInt(model.size());
+                    assertEquals(model.set(index, digit), list.set(index, digit));
+                } else if (op == 5) {
+                    list.shiftLeft();
+                    if (model.size() > 1) {
+                        Collections.rotate(model, -1);
+                    }
+                } else {
+                    int index = random.nextInt(model.size());
+                    assertEquals(model.get(index), list.get(index));
+                }
+            }
+            assertEquals(model, new ArrayList<>(list));
+            byte[] digits = new byte[model.size()];
+            for (int i = 0; i < digits.length; i++) {
+                digits[i] = model.get(i);
+            }
+            assertEquals(NumberListImpl.valueOf(NumberListImpl.fromDigits(base, digits)), list.toBigInteger());
+        }
+    }
+
+
+    @Test
+    public void testSort() {
+        LimbNumberList list = new LimbNumberList(8);
+        Random random = new Random(3404);
+        for (int i = 0; i < 500; i++) {
+            list.add((byte) random.nextInt(8));
+        }
+        NumberListImpl expected = NumberListImpl.fromDigits(8, list.toDigitArray());
+
+        list.sortAscending();
+        expected.sortAscending();
+        assertEquals(expected.toString(), list.toString());
+
+        list.sortDescending();
+        expected.sortDescending();
+        assertEquals(expected.toString(), list.toString());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsOtherBases() {
+        new LimbNumberList(10);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class NodePoolTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(new NumberListImpl("15").getNodePoolStats());
+    }
+
+    @Test
+    public void testRemovedNodesAreReused() {
+        NumberListImpl list = new NumberListImpl();
+        list.enableNodePool(16);
+        for (int i = 0; i < 10; i++) {
+            list.add((byte) 1);
+        }
+        for (int i = 0; i < 5; i++) {
+            list.remove(3);
+        }
+        for (int i = 0; i < 5; i++) {
+            list.add(3, (byte) 2);
+        }
+
+        NodePoolStats stats = list.getNodePoolStats();
+        assertEquals(5, stats.getRecycled());
+        assertEquals(5, stats.getHits());
+        assertEquals(10, stats.getMisses());
+        assertEquals(0, stats.getFree());
+        assertEquals("1112222211", list.toString());
+    }
+
+    @Test
+    public void testSortKeepsNodes() {
+        NumberListImpl list = new NumberListImpl("1212144468782345613");
+        list.enableNodePool(64);
+        list.sortAscending();
+
+        NodePoolStats stats = list.getNodePoolStats();
+        assertEquals(0, stats.getRecycled());
+        assertEquals(0, stats.getMisses());
+        assertEquals(0.0, stats.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void testCapacityIsBounded() {
+        NumberListImpl list = new NumberListImpl();
+        list.enableNodePool(4);
+        for (int i = 0; i < 10; i++) {
+            list.add((byte) 3);
+        }
+        list.clear();
+
+        NodePoolStats stats = list.getNodePoolStats();
+        assertEquals(4, stats.getFree());
+        assertEquals(6, stats.getDiscarded());
+    }
+
+    @Test
+    public void testChurnKeepsContent() {
+        Random random = new Random(3404);
+        NumberListImpl list = new NumberListImpl();
+        list.enableNodePool(8);
+        List<Byte> model = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            int op = random.nextInt(4);
+            if (op < 2 || model.isEmpty()) {
+                int index = random.nextInt(model.size() + 1);
+                byte digit = (byte) random.nextInt(16);
+                list.add(index, digit);
+                model.add(index, digit);
+            } else if (op == 2) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.remove(index), list.remove(index));
+            } else {
+                Iterator<Byte> it = list.iterator();
+                it.next();
+                it.remove();
+                model.remove(0);
+            }
+        }
+
+        assertEquals(model, new ArrayList<>(list));
+    }
+}
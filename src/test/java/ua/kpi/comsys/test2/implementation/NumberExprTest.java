@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NumberExprTest {
+
+    @Test
+    public void testChainMatchesEagerOperations() {
+        NumberListImpl a = new NumberListImpl("123456789");
+        NumberListImpl b = new NumberListImpl("987654321");
+        NumberListImpl c = new NumberListImpl("3404");
+
+        NumberListImpl expected = a.additionalOperation(b).additionalOperation(c).changeScale();
+        NumberListImpl actual = NumberExpr.of(a).times(b).times(c).changeScale().evaluate();
+
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(NumberListImpl.baseOf(expected), NumberListImpl.baseOf(actual));
+    }
+
+
+    @Test
+    public void testBasesAndNesting() {
+        NumberListImpl a = new NumberListImpl("1000");
+        NumberListImpl b = new NumberListImpl("37");
+        NumberExpr inner = NumberExpr.of(b).times(b).inBase(3);
+
+        NumberListImpl result = NumberExpr.of(a).times(inner).inBase(10).evaluate();
+
+        assertEquals("1369000", result.toString());
+        assertEquals(10, NumberExpr.of(a).inBase(10).getBase());
+        assertEquals(NumberListImpl.baseOf(a), NumberExpr.of(a).times(inner).getBase());
+        assertEquals("1111101000", NumberExpr.of(a).inBase(2).evaluate().toString());
+        assertEquals("0", NumberExpr.of(a).times(new NumberListImpl()).evaluate().toDecimalString());
+    }
+
+
+    @Test
+    public void testLargeProductInParallel() {
+        List<NumberListImpl> lists = new ArrayList<>();
+        BigInteger expected = BigInteger.ONE;
+        NumberExpr expr = null;
+        for (int i = 1; i <= 24; i++) {
+            BigInteger value = BigInteger.valueOf(7919L * i).pow(300 + i);
+            NumberListImpl list = new NumberListImpl(value.toString());
+            lists.add(list);
+            expected = expected.multiply(value);
+            expr = expr == null ? NumberExpr.of(list) : expr.times(list);
+        }
+
+        assertEquals(expected.toString(), expr.evaluate().toDecimalString());
+        assertEquals(NumberListImpl.productOf(lists), expr.evaluate());
+    }
+
+
+    @Test
+    public void testOperandsAreReadAtEvaluation() {
+        NumberListImpl a = new NumberListImpl("5");
+        NumberExpr square = NumberExpr.of(a).times(a);
+
+        assertEquals("25", square.evaluate().toDecimalString());
+        a.add((byte) 0);
+        assertEquals(new BigInteger("5").multiply(BigInteger.valueOf(NumberListImpl.baseOf(a))).pow(2).toString(),
+                square.evaluate().toDecimalString());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsBase() {
+        NumberExpr.of(new NumberListImpl("1")).inBase(17);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NumberListBatchTest {
+
+    @Test
+    public void testCpuJobs() throws Exception {
+        try (NumberListBatch batch = new NumberListBatch(2, 2)) {
+            List<CompletableFuture<NumberListImpl>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                NumberListImpl list = new NumberListImpl(Integer.toString(i));
+                futures.add(batch.additionalOperation(list, new NumberListImpl("2")));
+            }
+            for (int i = 0; i < 20; i++) {
+                assertEquals(Integer.toString(i * 2), futures.get(i).get().toDecimalString());
+            }
+        }
+    }
+
+    @Test
+    public void testIoJobs() throws Exception {
+        List<Callable<NumberListImpl>> jobs = new ArrayList<>();
+        for (String name : new String[] {"1.txt", "14.txt", "227.txt"}) {
+            jobs.add(() -> new NumberListImpl(new File(FileListTest.PREFIX + name)).changeScale());
+        }
+        try (NumberListBatch batch = new NumberListBatch()) {
+            List<CompletableFuture<NumberListImpl>> futures = batch.submitAll(NumberListBatch.Kind.IO, jobs);
+
+            assertEquals("1", futures.get(0).get().toDecimalString());
+            assertEquals("14", futures.get(1).get().toDecimalString());
+            assertEquals("227", futures.get(2).get().toDecimalString());
+        }
+    }
+
+    @Test
+    public void testInFlightLimit() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Callable<Integer>> jobs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            jobs.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(2);
+                running.decrementAndGet();
+                return 0;
+            });
+        }
+        try (NumberListBatch batch = new NumberListBatch(3, 8)) {
+            CompletableFuture.allOf(batch.submitAll(NumberListBatch.Kind.IO, jobs)
+                    .toArray(new CompletableFuture<?>[0])).get();
+        }
+
+        assertTrue("In-flight limit is exceeded", maxRunning.get() <= 3);
+    }
+
+    @Test
+    public void testNestedSubmissionDoesNotBlock() throws Exception {
+        try (NumberListBatch batch = new NumberListBatch(1, 1)) {
+            CompletableFuture<String> outer = batch.submit(NumberListBatch.Kind.CPU,
+                    () -> batch.changeScale(new NumberListImpl("10")).get().toString());
+
+            assertEquals("1010", outer.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testFailurePropagation() throws Exception {
+        try (NumberListBatch batch = new NumberListBatch()) {
+            CompletableFuture<NumberListImpl> future = batch.submit(NumberListBatch.Kind.CPU,
+                    () -> new NumberListImpl("1").divide(new NumberListImpl("0")));
+            future.get();
+            fail("Exception was not propagated");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ArithmeticException);
+        }
+    }
+}
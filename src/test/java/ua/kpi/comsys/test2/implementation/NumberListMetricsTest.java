@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.management.ObjectName;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NumberListMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCountersGrow() {
+        NumberListMetrics metrics = NumberListMetrics.getInstance();
+        long nodes = metrics.getNodesAllocated();
+        long steps = metrics.getTraversalSteps();
+        long conversions = metrics.getConversions();
+
+        NumberListImpl list = new NumberListImpl("1234567890");
+        list.get(3);
+        list.changeScale();
+
+        assertTrue(metrics.getNodesAllocated() > nodes);
+        assertTrue(metrics.getTraversalSteps() >= steps + 3);
+        assertTrue(metrics.getConversions() >= conversions + 2);
+    }
+
+    @Test
+    public void testMBeanRegistered() throws Exception {
+        NumberListMetrics.getInstance();
+        Object value = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(NumberListMetrics.OBJECT_NAME), "NodesAllocated");
+
+        assertTrue(value instanceof Long);
+    }
+
+    @Test
+    public void testEventsRecorded() throws Exception {
+        Path dump = folder.getRoot().toPath().resolve("numberlist.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(NumberListEvent.class).withoutThreshold();
+            recording.start();
+
+            NumberListImpl list = new NumberListImpl(new File(FileListTest.FILE_227));
+            list.additionalOperation(new NumberListImpl("2")).changeScale();
+
+            recording.stop();
+            recording.dump(dump);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> e.getEventType().getName().equals("ua.kpi.comsys.test2.NumberListOperation"))
+                .collect(Collectors.toList());
+        List<String> operations = events.stream()
+                .map(e -> e.getString("operation"))
+                .collect(Collectors.toList());
+
+        assertEquals(List.of("read", "additionalOperation", "changeScale"), operations);
+        RecordedEvent read = events.get(0);
+        assertEquals(3L, read.getLong("bytes"));
+    }
+}
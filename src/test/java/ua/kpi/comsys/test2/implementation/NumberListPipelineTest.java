@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NumberListPipelineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPairsAreMultiplied() throws Exception {
+        List<NumberListPipeline.Job> jobs = new ArrayList<>();
+        List<BigInteger> expected = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            BigInteger a = BigInteger.valueOf(7).pow(i * 10 + 1);
+            BigInteger b = BigInteger.valueOf(i + 1);
+            jobs.add(new NumberListPipeline.Job(write("a" + i, a.toString()), write("b" + i, b.toString()),
+                    new File(folder.getRoot(), "result-" + i + ".txt")));
+            expected.add(a.multiply(b));
+        }
+
+        NumberListPipeline.Report report = new NumberListPipeline(2, 2, 3).run(jobs);
+
+        assertEquals(40, report.getCompleted());
+        assertTrue(report.getFailures().isEmpty());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(expected.get(i).toString(), read(jobs.get(i).getOutput()));
+        }
+    }
+
+    @Test
+    public void testFailuresAreReported() throws Exception {
+        NumberListPipeline.Job missing = new NumberListPipeline.Job(new File(folder.getRoot(), "missing"),
+                write("x", "15"), new File(folder.getRoot(), "r0"));
+        NumberListPipeline.Job invalid = new NumberListPipeline.Job(write("y", "abc"),
+                write("z", "2"), new File(folder.getRoot(), "r1"));
+        NumberListPipeline.Job valid = new NumberListPipeline.Job(write("v", "15"),
+                write("w", "2"), new File(folder.getRoot(), "r2"));
+
+        NumberListPipeline.Report report = new NumberListPipeline().run(Arrays.asList(missing, invalid, valid));
+
+        assertEquals(1, report.getCompleted());
+        assertTrue(report.getFailures().get(missing) instanceof IOException);
+        assertTrue(report.getFailures().get(invalid) instanceof NumberFormatException);
+        assertEquals("30", read(valid.getOutput()));
+    }
+
+    @Test(timeout = 10000)
+    public void testUncheckedFailuresDoNotBlock() throws Exception {
+        NumberListPipeline.Job broken = new NumberListPipeline.Job(null, write("x", "15"),
+                new File(folder.getRoot(), "r0"));
+        NumberListPipeline.Job noOutput = new NumberListPipeline.Job(write("y", "15"), write("z", "2"), null);
+        NumberListPipeline.Job valid = new NumberListPipeline.Job(write("v", "15"),
+                write("w", "2"), new File(folder.getRoot(), "r2"));
+
+        NumberListPipeline.Report report = new NumberListPipeline(1, 1, 1).run(Arrays.asList(broken, noOutput, valid));
+
+        assertEquals(1, report.getCompleted());
+        assertTrue(report.getFailures().get(broken) instanceof NullPointerException);
+        assertTrue(report.getFailures().get(noOutput) instanceof NullPointerException);
+        assertEquals("30", read(valid.getOutput()));
+    }
+
+    @Test
+    public void testWriteFailuresAreReported() throws Exception {
+        NumberListPipeline.Job unwritable = new NumberListPipeline.Job(write("a", "15"), write("b", "2"),
+                folder.newFolder("out"));
+
+        NumberListPipeline.Report report = new NumberListPipeline().run(Arrays.asList(unwritable));
+
+        assertEquals(0, report.getCompleted());
+        assertTrue(report.getFailures().get(unwritable) instanceof IOException);
+    }
+
+    @Test(timeout = 10000)
+    public void testErrorsAreReported() throws Exception {
+        NumberListPipeline.Job unreadable = new NumberListPipeline.Job(failing("in"), write("a", "15"),
+                new File(folder.getRoot(), "r0"));
+        List<NumberListPipeline.Job> jobs = new ArrayList<>();
+        jobs.add(unreadable);
+        for (int i = 0; i < 10; i++) {
+            jobs.add(new NumberListPipeline.Job(write("b" + i, "15"), write("c" + i, "2"), failing("out" + i)));
+        }
+        NumberListPipeline.Job valid = new NumberListPipeline.Job(write("v", "15"),
+                write("w", "2"), new File(folder.getRoot(), "r2"));
+        jobs.add(valid);
+
+        NumberListPipeline.Report report = new NumberListPipeline(1, 1, 1).run(jobs);
+
+        assertEquals(1, report.getCompleted());
+        assertEquals(11, report.getFailures().size());
+        assertTrue(report.getFailures().get(unreadable) instanceof StackOverflowError);
+        assertTrue(report.getFailures().get(jobs.get(1)) instanceof StackOverflowError);
+        assertEquals("30", read(valid.getOutput()));
+    }
+
+    private File failing(String name) {
+        return new File(folder.getRoot(), name) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Path toPath() {
+                throw new StackOverflowError();
+            }
+        };
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static String read(File file) throws IOException {
+        return Files.readString(file.toPath(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import ua.kpi.comsys.test2.NumberList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NumberListSorterTest {
+
+    @Test
+    public void testCompareTo() {
+        NumberListImpl small = new NumberListImpl("255");
+        NumberListImpl large = new NumberListImpl("256");
+        NumberListImpl padded = NumberListImpl.fromDigits(NumberListImpl.baseOf(small),
+                new byte[] {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1});
+
+        assertTrue(small.compareTo(large) < 0);
+        assertTrue(large.compareTo(small) > 0);
+        assertEquals(0, small.compareTo(new NumberListImpl("255")));
+        assertTrue(padded.compareTo(new NumberListImpl("2")) < 0);
+        assertEquals(0, padded.compareTo(new NumberListImpl("1")));
+        assertEquals(new NumberListImpl("1").hashCode(), padded.hashCode());
+        assertEquals(0, new NumberListImpl().compareTo(new NumberListImpl("0")));
+        assertTrue(small.compareTo(new SparseNumberList("256")) < 0);
+        assertEquals(0, large.compareTo(new UnrolledNumberList("256")));
+        assertEquals(0, large.compareTo(large.changeScale()));
+        assertTrue(small.compareTo(large.changeScale()) < 0);
+    }
+
+
+    @Test
+    public void testRadixSortMatchesValueOrder() {
+        Random random = new Random(3404);
+        NumberList[] lists = new NumberList[3000];
+        for (int i = 0; i < lists.length; i++) {
+            BigInteger value = new BigInteger(random.nextInt(200), random);
+            lists[i] = i % 3 == 0 ? new UnrolledNumberList(value.toString()) : new NumberListImpl(value.toString());
+        }
+        NumberList[] expected = lists.clone();
+        Arrays.sort(expected, (a, b) -> NumberListImpl.valueOf(a).compareTo(NumberListImpl.valueOf(b)));
+
+        NumberListSorter.sort(lists);
+
+        for (int i = 0; i < lists.length; i++) {
+            assertSame(expected[i], lists[i]);
+        }
+    }
+
+
+    @Test
+    public void testLongCommonPrefixes() {
+        List<NumberListImpl> lists = new ArrayList<>();
+        String prefix = "7".repeat(5000);
+        for (int i = 40; i >= 0; i--) {
+            lists.add(new NumberListImpl(prefix + String.format("%03d", i)));
+        }
+        lists.add(new NumberListImpl("0"));
+
+        NumberListSorter.sort(lists);
+
+        assertEquals("0", lists.get(0).toDecimalString());
+        for (int i = 2; i < lists.size(); i++) {
+            assertTrue(lists.get(i - 1).compareTo(lists.get(i)) < 0);
+        }
+    }
+
+
+    @Test
+    public void testMixedBases() {
+        NumberListImpl decimal = new NumberListImpl("100");
+        NumberList[] lists = {decimal.changeScale(), new NumberListImpl("7"), new NumberListImpl("3404")};
+
+        NumberListSorter.sort(lists);
+
+        assertEquals("7", ((NumberListImpl) lists[0]).toDecimalString());
+        assertEquals("100", ((NumberListImpl) lists[1]).toDecimalString());
+        assertEquals("3404", ((NumberListImpl) lists[2]).toDecimalString());
+    }
+}
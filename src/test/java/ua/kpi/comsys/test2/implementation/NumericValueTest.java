@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NumericValueTest {
+
+    @Test
+    public void testSetKeepsValueWithoutConversion() {
+        NumberListMetrics metrics = NumberListMetrics.getInstance();
+        Random random = new Random(3404);
+        NumberListImpl list = new NumberListImpl(BigInteger.TEN.pow(500).toString());
+        int base = NumberListImpl.baseOf(list);
+        long conversions = metrics.getConversions();
+
+        for (int i = 0; i < 200; i++) {
+            list.set(random.nextInt(list.size()), (byte) random.nextInt(base));
+            list.swap(random.nextInt(list.size()), random.nextInt(list.size()));
+            assertEquals(expected(list), list.toDecimalString());
+        }
+        // one conversion per iteration is done by expected() itself
+        assertEquals(conversions + 200, metrics.getConversions());
+    }
+
+
+    @Test
+    public void testIteratorSetAndAppend() {
+        NumberListImpl list = new NumberListImpl("123456789");
+        list.toDecimalString();
+
+        ListIterator<Byte> it = list.listIterator();
+        while (it.hasNext()) {
+            it.next();
+            it.set((byte) 1);
+        }
+        assertEquals(expected(list), list.toDecimalString());
+
+        list.add((byte) 0);
+        list.add((byte) 1);
+        assertEquals(expected(list), list.toDecimalString());
+    }
+
+
+    @Test
+    public void testStructuralChangesRecompute() {
+        NumberListImpl list = new NumberListImpl("98765432109876543210");
+        list.toDecimalString();
+
+        list.add(0, (byte) 1);
+        assertEquals(expected(list), list.toDecimalString());
+        list.remove(3);
+        assertEquals(expected(list), list.toDecimalString());
+        list.shiftLeft();
+        assertEquals(expected(list), list.toDecimalString());
+        list.shiftRight();
+        list.shiftRight();
+        assertEquals(expected(list), list.toDecimalString());
+        list.sortDescending();
+        assertEquals(expected(list), list.toDecimalString());
+        list.clear();
+        assertEquals("0", list.toDecimalString());
+        list.add((byte) 1);
+        assertEquals("1", list.toDecimalString());
+    }
+
+
+    @Test
+    public void testAppendsAreFoldedOnRead() {
+        NumberListMetrics metrics = NumberListMetrics.getInstance();
+        Random random = new Random(3404);
+        NumberListImpl list = new NumberListImpl(BigInteger.TEN.pow(2000).toString());
+        int base = NumberListImpl.baseOf(list);
+        long conversions = metrics.getConversions();
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 500; i++) {
+                list.add((byte) random.nextInt(base));
+            }
+            list.set(list.size() - 1 - random.nextInt(500), (byte) random.nextInt(base));
+            list.set(random.nextInt(list.size()), (byte) random.nextInt(base));
+            NumberListImpl copy = list.copy();
+            assertEquals(expected(list), list.toDecimalString());
+            assertEquals(list.toDecimalString(), copy.toDecimalString());
+        }
+        // one conversion per round is done by expected() itself
+        assertEquals(conversions + 20, metrics.getConversions());
+    }
+
+
+    @Test
+    public void testManyUpdatesDropValue() {
+        NumberListMetrics metrics = NumberListMetrics.getInstance();
+        Random random = new Random(3404);
+        NumberListImpl list = new NumberListImpl(BigInteger.TEN.pow(500).toString());
+        int base = NumberListImpl.baseOf(list);
+        long conversions = metrics.getConversions();
+
+        for (int i = 0; i < 1000; i++) {
+            list.set(random.nextInt(list.size()), (byte) random.nextInt(base));
+        }
+        String expected = expected(list);
+
+        assertEquals(expected, list.toDecimalString());
+        assertEquals(conversions + 2, metrics.getConversions());
+    }
+
+
+    @Test
+    public void testConcurrentReadsOfPendingDigits() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 2000; round++) {
+                NumberListImpl list = new NumberListImpl(round % 10 == 0 ? BigInteger.TEN.pow(300).toString() : "1");
+                for (int i = 0; i <= round % 5; i++) {
+                    list.add((byte) 3);
+                }
+                String expected = expected(list);
+                CyclicBarrier barrier = new CyclicBarrier(8);
+                List<Future<String>> reads = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    reads.add(executor.submit(() -> {
+                        barrier.await();
+                        return list.toDecimalString();
+                    }));
+                }
+                for (Future<String> read : reads) {
+                    assertEquals(expected, read.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    public void testEqualsUsesValue() {
+        NumberListImpl a = new NumberListImpl("1000");
+        NumberListImpl b = new NumberListImpl("1001");
+
+        b.set(b.size() - 1, a.get(a.size() - 1));
+
+        assertEquals(a, b);
+    }
+
+    private static String expected(NumberListImpl list) {
+        return NumberListImpl.valueOf(NumberListImpl.fromDigits(NumberListImpl.baseOf(list),
+                list.toDigitArray())).toString();
+    }
+}
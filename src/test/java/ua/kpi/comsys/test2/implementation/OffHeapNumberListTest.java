@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapNumberListTest {
+
+    static BigInteger NUMBER = BigInteger.valueOf(3404).pow(500).add(BigInteger.TEN);
+
+    @Test
+    public void testInteroperability() {
+        try (OffHeapNumberList list = new OffHeapNumberList(NUMBER.toString(), OffHeapNumberList.Mode.CONFINED)) {
+            NumberListImpl expected = new NumberListImpl(NUMBER.toString());
+            NumberListImpl factor = new NumberListImpl("1212144468782345613");
+
+            assertEquals(expected.toString(), list.toString());
+            assertEquals(NUMBER.toString(), list.toDecimalString());
+            assertEquals(expected, list);
+            assertEquals(expected.additionalOperation(factor), factor.additionalOperation(list));
+            assertEquals(expected.changeScale(), list.toNumberListImpl().changeScale());
+            assertEquals(0, expected.compareTo(list));
+        }
+    }
+
+
+    @Test
+    public void testRandomEdits() {
+        Random random = new Random(3404);
+        try (OffHeapNumberList list = new OffHeapNumberList()) {
+            List<Byte> model = new ArrayList<>();
+            int base = NumberListImpl.baseOf(list);
+            for (int step = 0; step < 3000; step++) {
+                int op = random.nextInt(6);
+                byte digit = (byte) random.nextInt(base);
+                if (op < 3 || model.isEmpty()) {
+                    int index = random.nextInt(model.size() + 1);
+                    list.add(index, digit);
+                    model.add(index, digit);
+                } else if (op == 3) {
+                    int index = random.nextInt(model.size());
+                    assertEquals(model.remove(index), list.remove(index));
+                } else if (op == 4) {
+                    int index = random.nextInt(model.size());
+                    assertEquals(model.set(index, digit), list.set(index, digit));
+                } else {
+                    list.shiftRight();
+                    if (model.size() > 1) {
+                        Collections.rotate(model, 1);
+                    }
+                }
+            }
+            assertEquals(model, new ArrayList<>(list));
+            assertTrue(list.capacity() >= model.size());
+
+            list.sortDescending();
+            model.sort(Collections.reverseOrder());
+            assertEquals(model, new ArrayList<>(list));
+        }
+    }
+
+
+    @Test
+    public void testClose() {
+        OffHeapNumberList list = OffHeapNumberList.of(new NumberListImpl("3404"), OffHeapNumberList.Mode.SHARED);
+        list.close();
+        list.close();
+
+        assertTrue(list.isClosed());
+        try {
+            list.get(0);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+
+    @Test
+    public void testSharedAcrossThreads() throws Exception {
+        try (OffHeapNumberList list = new OffHeapNumberList("3404", OffHeapNumberList.Mode.SHARED)) {
+            String decimal = CompletableFuture.supplyAsync(list::toDecimalString).get();
+
+            assertEquals("3404", decimal);
+        }
+        try (OffHeapNumberList list = new OffHeapNumberList("3404", OffHeapNumberList.Mode.CONFINED)) {
+            CompletableFuture.supplyAsync(list::toDecimalString).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof WrongThreadException);
+        }
+    }
+}
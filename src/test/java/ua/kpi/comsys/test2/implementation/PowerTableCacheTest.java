@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PowerTableCacheTest {
+
+    @Test
+    public void testPowers() {
+        for (int level = 0; level < 12; level++) {
+            assertEquals(BigInteger.valueOf(3).pow(1 << level), PowerTableCache.power(3, level));
+        }
+        assertSame(PowerTableCache.power(10, 9), PowerTableCache.power(10, 9));
+    }
+
+
+    @Test
+    public void testHitsAndMisses() {
+        NumberListMetrics metrics = NumberListMetrics.getInstance();
+        PowerTableCache.clear();
+        long hits = metrics.getPowerCacheHits();
+        long misses = metrics.getPowerCacheMisses();
+
+        PowerTableCache.power(7, 5);
+        assertEquals(misses + 5, metrics.getPowerCacheMisses());
+        PowerTableCache.power(7, 5);
+        assertEquals(hits + 1, metrics.getPowerCacheHits());
+        assertEquals(5, PowerTableCache.size());
+    }
+
+
+    @Test
+    public void testLevelFor() {
+        assertEquals(0, PowerTableCache.levelFor(10, 1));
+        assertEquals(3, PowerTableCache.levelFor(2, 8));
+        assertTrue(PowerTableCache.power(10, PowerTableCache.levelFor(10, 1000)).bitLength() <= 1001);
+    }
+
+
+    @Test
+    public void testConversionsInOtherBases() {
+        Random random = new Random(3404);
+        for (int base : new int[] {3, 10}) {
+            for (int bits : new int[] {1, 62, 63, 64, 200, 5000, 40000}) {
+                BigInteger value = new BigInteger(bits, random).setBit(bits - 1);
+                NumberListImpl list = NumberListImpl.fromBigInteger(base, value);
+
+                assertEquals(value.toString(base), list.toString());
+                assertEquals(value, NumberListImpl.valueOf(NumberListImpl.fromDigits(base, list.toDigitArray())));
+            }
+            assertEquals("0", NumberListImpl.fromBigInteger(base, BigInteger.ZERO).toString());
+            BigInteger power = BigInteger.valueOf(base).pow(4096);
+            assertEquals(power.toString(base), NumberListImpl.fromBigInteger(base, power).toString());
+            byte[] digits = NumberListImpl.fromBigInteger(base, power).toDigitArray();
+            assertEquals(power, NumberListImpl.valueOf(NumberListImpl.fromDigits(base, digits)));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ProductTest {
+
+    @Test
+    public void testFactorial() {
+        List<NumberListImpl> factors = new ArrayList<>();
+        BigInteger expected = BigInteger.ONE;
+        for (int i = 1; i <= 3000; i++) {
+            factors.add(new NumberListImpl(Integer.toString(i)));
+            expected = expected.multiply(BigInteger.valueOf(i));
+        }
+
+        NumberListImpl result = NumberListImpl.productOf(factors);
+
+        assertEquals("Product implemented in a wrong way", expected.toString(), result.toDecimalString());
+        assertEquals("Factor has changed", "3000", factors.get(2999).toDecimalString());
+    }
+
+    @Test
+    public void testSameAsAdditionalOperation() {
+        NumberListImpl a = new NumberListImpl("123456789");
+        NumberListImpl b = new NumberListImpl("987654321");
+        NumberListImpl c = new NumberListImpl("15");
+
+        assertEquals(a.additionalOperation(b).additionalOperation(c),
+                NumberListImpl.productOf(Arrays.asList(a, b, c)));
+    }
+
+    @Test
+    public void testSingleAndEmpty() {
+        assertEquals("1", NumberListImpl.productOf(Collections.<NumberListImpl>emptyList()).toDecimalString());
+        assertEquals("42", NumberListImpl.productOf(Collections.singletonList(new NumberListImpl("42"))).toDecimalString());
+    }
+
+    @Test
+    public void testZeroFactor() {
+        NumberListImpl result = NumberListImpl.productOf(Arrays.asList(
+                new NumberListImpl("15"), new NumberListImpl("0"), new NumberListImpl("2")));
+
+        assertEquals("0", result.toDecimalString());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResultCacheTest {
+
+    @After
+    public void tearDown() {
+        NumberListImpl.disableResultCache();
+    }
+
+    @Test
+    public void testHitReturnsSameInstance() {
+        NumberListImpl.enableResultCache(1 << 20);
+        NumberListMetrics metrics = NumberListMetrics.getInstance();
+        long hits = metrics.getResultCacheHits();
+        long misses = metrics.getResultCacheMisses();
+
+        NumberListImpl scaled = new NumberListImpl("3404").changeScale();
+        NumberListImpl again = new NumberListImpl("3404").changeScale();
+        NumberListImpl product = new NumberListImpl("12").additionalOperation(new NumberListImpl("34"));
+
+        assertSame(scaled, again);
+        assertEquals("3404", new NumberListImpl("3404").changeScale().toDecimalString());
+        assertEquals(product, new NumberListImpl("12").additionalOperation(new NumberListImpl("34")));
+        assertEquals(misses + 2, metrics.getResultCacheMisses());
+        assertEquals(hits + 3, metrics.getResultCacheHits());
+    }
+
+
+    @Test
+    public void testDifferentOperandsMiss() {
+        NumberListImpl.enableResultCache(1 << 20);
+
+        NumberListImpl a = new NumberListImpl("100").additionalOperation(new NumberListImpl("7"));
+        NumberListImpl b = new NumberListImpl("100").additionalOperation(new NumberListImpl("8"));
+
+        assertNotSame(a, b);
+        assertEquals("700", a.toDecimalString());
+        assertEquals("800", b.toDecimalString());
+    }
+
+
+    @Test
+    public void testResultsAreFrozen() {
+        NumberListImpl.enableResultCache(1 << 20);
+        NumberListImpl source = new NumberListImpl("255");
+        NumberListImpl scaled = source.changeScale();
+
+        assertTrue(scaled.isFrozen());
+        assertFalse(source.isFrozen());
+        source.add((byte) 1);
+        for (Runnable mutation : new Runnable[] {
+                () -> scaled.add((byte) 1),
+                () -> scaled.set(0, (byte) 0),
+                () -> scaled.remove(0),
+                scaled::clear,
+                scaled::shiftLeft,
+                scaled::sortAscending,
+                () -> scaled.swap(0, 1),
+                () -> scaled.listIterator().add((byte) 1),
+        }) {
+            try {
+                mutation.run();
+                throw new AssertionError("Frozen list was modified");
+            } catch (UnsupportedOperationException e) {
+                // expected
+            }
+        }
+        assertEquals("255", scaled.toDecimalString());
+
+        NumberListImpl.disableResultCache();
+        assertFalse(source.changeScale().isFrozen());
+    }
+
+
+    @Test
+    public void testEviction() {
+        ResultCache cache = new ResultCache(20);
+        for (int i = 0; i < 10; i++) {
+            byte[] digits = {(byte) i, 1, 2, 3};
+            cache.computeIfAbsent(new ResultCache.Key("op", 16, digits), () -> new NumberListImpl("4096"));
+        }
+
+        assertTrue(cache.cachedDigits() <= 20);
+        assertEquals(2, cache.size());
+    }
+
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        NumberListImpl.enableResultCache(1 << 16);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int n = i % 5;
+                results.add(executor.submit(() -> new NumberListImpl(String.valueOf(1000 + n))
+                        .additionalOperation(new NumberListImpl("3")).toDecimalString()));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(String.valueOf(3 * (1000 + i % 5)), results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RunLengthNumberListTest {
+
+    @Test
+    public void testRepetitiveNumber() {
+        String value = BigInteger.ONE.shiftLeft(4096).subtract(BigInteger.ONE).toString();
+        RunLengthNumberList list = new RunLengthNumberList(value);
+
+        assertTrue(list.isRunLength());
+        assertEquals(1, list.runCount());
+        assertEquals(value, list.toDecimalString());
+        assertEquals(new NumberListImpl(value), list);
+    }
+
+    @Test
+    public void testSortedFromCounts() {
+        NumberListImpl source = new NumberListImpl("1212144468782345613");
+        RunLengthNumberList asc = RunLengthNumberList.sorted(source, true);
+        RunLengthNumberList desc = RunLengthNumberList.sorted(source, false);
+        source.sortAscending();
+
+        assertEquals(source.toString(), asc.toString());
+        assertTrue(asc.runCount() <= 16);
+        assertEquals(new StringBuilder(source.toString()).reverse().toString(), desc.toString());
+    }
+
+    @Test
+    public void testSwitchToDenseAndBack() {
+        RunLengthNumberList list = new RunLengthNumberList();
+        for (int i = 0; i < 100; i++) {
+            list.add((byte) (i % 2));
+        }
+        assertFalse("Fragmented list should be dense", list.isRunLength());
+
+        list.sortDescending();
+        assertTrue("Sorted list should be run-length encoded", list.isRunLength());
+        assertEquals(2, list.runCount());
+    }
+
+    @Test
+    public void testRandomEdits() {
+        Random random = new Random(3404);
+        RunLengthNumberList list = RunLengthNumberList.of(new NumberListImpl("0"));
+        List<Byte> model = new ArrayList<>(list);
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(4);
+            byte digit = (byte) random.nextInt(3);
+            if (op == 0 || model.isEmpty()) {
+                int index = random.nextInt(model.size() + 1);
+                list.add(index, digit);
+                model.add(index, digit);
+            } else if (op == 1) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.remove(index), list.remove(index));
+            } else if (op == 2) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.set(index, digit), list.set(index, digit));
+            } else {
+                if (random.nextBoolean()) {
+                    list.sortAscending();
+                    model.sort(null);
+                }
+                int index = random.nextInt(model.size());
+                assertEquals(model.get(index), list.get(index));
+            }
+        }
+
+        assertEquals(model, new ArrayList<>(list));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ScaleViewTest {
+
+    @Test
+    public void testSameDigitsAsChangeScale() {
+        Random random = new Random(3404);
+        for (int bits : new int[] {1, 5, 64, 333, 4000}) {
+            BigInteger value = new BigInteger(bits, random);
+            NumberListImpl list = new NumberListImpl(value.toString());
+
+            ScaleView view = list.changeScaleView();
+
+            assertEquals(list.changeScale().toString(), view.toString());
+            assertEquals(list.changeScale(), view);
+            assertEquals(value.toString(), view.toDecimalString());
+        }
+        assertEquals("0", new NumberListImpl().changeScaleView().toString());
+    }
+
+
+    @Test
+    public void testAllPowerOfTwoPairs() {
+        Random random = new Random(3404);
+        int[] bases = {2, 4, 8, 16};
+        for (int from : bases) {
+            for (int to : bases) {
+                byte[] digits = new byte[97];
+                for (int i = 1; i < digits.length; i++) {
+                    digits[i] = (byte) random.nextInt(from);
+                }
+                BigInteger value = NumberListImpl.valueOf(NumberListImpl.fromDigits(from, digits));
+
+                ScaleView view = new ScaleView(from, digits, to);
+
+                assertEquals(value.toString(to).toUpperCase(), view.toString());
+            }
+        }
+        assertEquals("1012", new ScaleView(16, new byte[] {2, 0}, 3).toString());
+    }
+
+
+    @Test
+    public void testReadOnlyAndMaterialize() {
+        NumberListImpl list = new NumberListImpl("3404");
+        ScaleView view = list.changeScaleView();
+        list.set(0, (byte) 0);
+
+        assertEquals("3404", view.toDecimalString());
+        for (Runnable mutation : new Runnable[] {
+                () -> view.add((byte) 1),
+                () -> view.set(0, (byte) 0),
+                () -> view.remove(0),
+                view::clear,
+                view::shiftLeft,
+                view::sortAscending,
+        }) {
+            try {
+                mutation.run();
+                fail("View was modified");
+            } catch (UnsupportedOperationException e) {
+                // expected
+            }
+        }
+
+        NumberListImpl copy = view.materialize();
+        copy.add((byte) 1);
+        assertEquals(view.size() + 1, copy.size());
+        assertEquals("3404", view.toDecimalString());
+    }
+}
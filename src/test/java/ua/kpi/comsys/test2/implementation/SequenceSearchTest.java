@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assume.assumeTrue;
+import static org.junit.Assert.assertEquals;
+
+public class SequenceSearchTest {
+
+    static String HEXADECIMAL = "10D266F8DE39ED8D";
+
+    static NumberListImpl hex(String digits) {
+        NumberListImpl list = new NumberListImpl();
+        for (char c : digits.toCharArray()) {
+            list.add((byte) Character.digit(c, 16));
+        }
+        return list;
+    }
+
+    @Test
+    public void testFindHexPattern() {
+        assumeTrue(NumberListImpl.getRecordBookNumber() % 5 == 4);
+        NumberListImpl list = hex(HEXADECIMAL);
+        NumberListImpl pattern = hex("D8D");
+
+        assertEquals(HEXADECIMAL.indexOf("D8D"), list.indexOfSequence(pattern));
+        assertEquals(HEXADECIMAL.lastIndexOf("D"), list.lastIndexOfSequence(hex("D")));
+        assertEquals(4, list.countOccurrences(hex("D")));
+        assertEquals(-1, list.indexOfSequence(hex("ABC")));
+    }
+
+    @Test
+    public void testOverlappingOccurrences() {
+        assumeTrue(NumberListImpl.getRecordBookNumber() % 5 == 4);
+        NumberListImpl list = hex("AAAAA");
+
+        assertEquals(4, list.countOccurrences(hex("AA")));
+        assertEquals(0, list.indexOfSequence(hex("AA")));
+        assertEquals(3, list.lastIndexOfSequence(hex("AA")));
+    }
+
+    @Test
+    public void testCircular() {
+        assumeTrue(NumberListImpl.getRecordBookNumber() % 5 == 4);
+        NumberListImpl list = hex("23451");
+
+        assertEquals(-1, list.indexOfSequence(hex("5123")));
+        assertEquals(3, list.indexOfSequence(hex("5123"), true));
+        assertEquals(1, list.countOccurrences(hex("12"), true));
+        assertEquals(0, list.countOccurrences(hex("12")));
+        assertEquals(3, hex("AAA").countOccurrences(hex("AA"), true));
+    }
+
+    @Test
+    public void testAgainstStringSearch() {
+        assumeTrue(NumberListImpl.getRecordBookNumber() % 5 == 4);
+        Random random = new Random(3404);
+        for (int trial = 0; trial < 200; trial++) {
+            BigInteger value = new BigInteger(200, random).setBit(199);
+            NumberListImpl list = new NumberListImpl(value.toString());
+            String text = list.toString();
+            int from = random.nextInt(text.length() - 3);
+            String sub = text.substring(from, from + 1 + random.nextInt(3));
+            NumberListImpl pattern = hex(sub);
+
+            assertEquals(text.indexOf(sub), list.indexOfSequence(pattern));
+            assertEquals(text.lastIndexOf(sub), list.lastIndexOfSequence(pattern));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SerializationTest {
+
+    @After
+    public void tearDown() {
+        NumberListImpl.disableResultCache();
+    }
+
+
+    @Test
+    public void testSerializationRoundTrip() throws Exception {
+        Random random = new Random(3404);
+        for (int bits : new int[] {1, 4, 7, 333, 4000}) {
+            NumberListImpl list = new NumberListImpl(new BigInteger(bits, random).toString());
+
+            NumberListImpl copy = (NumberListImpl) deserialize(serialize(list));
+
+            assertEquals(list.toString(), copy.toString());
+            assertEquals(list.toDecimalString(), copy.toDecimalString());
+        }
+        NumberListImpl empty = (NumberListImpl) deserialize(serialize(new NumberListImpl()));
+        assertTrue(empty.isEmpty());
+    }
+
+
+    @Test
+    public void testSerializedFormIsCompact() throws Exception {
+        NumberListImpl list = new NumberListImpl(BigInteger.valueOf(3404).pow(3000).toString());
+        NumberListImpl binary = list.changeScale();
+
+        assertTrue(serialize(list).length < list.size() / 2 + 256);
+        assertTrue(serialize(binary).length < binary.size() / 2 + 256);
+        assertEquals(binary, deserialize(serialize(binary)));
+        assertEquals(2, NumberListImpl.baseOf((NumberListImpl) deserialize(serialize(binary))));
+    }
+
+
+    @Test
+    public void testFrozenResultDeserializesModifiable() throws Exception {
+        NumberListImpl.enableResultCache(1 << 16);
+        NumberListImpl result = new NumberListImpl("3404").additionalOperation(new NumberListImpl("17"));
+
+        NumberListImpl copy = (NumberListImpl) deserialize(serialize(result));
+
+        assertTrue(result.isFrozen());
+        assertFalse(copy.isFrozen());
+        copy.add((byte) 1);
+        assertEquals(result.size() + 1, copy.size());
+    }
+
+
+    @Test
+    public void testEncodeDecode() {
+        NumberListImpl first = new NumberListImpl("123456789012345678901234567890");
+        NumberListImpl second = first.changeScale();
+        ByteBuffer a = first.encode();
+        ByteBuffer b = second.encode();
+        ByteBuffer buffer = ByteBuffer.allocate(a.remaining() + b.remaining()).put(a).put(b).flip();
+
+        assertEquals(5 + (first.size() + 1) / 2, first.encode().remaining());
+        assertEquals(first.toString(), NumberListImpl.decode(buffer).toString());
+        assertEquals(second.toString(), NumberListImpl.decode(buffer).toString());
+        assertFalse(buffer.hasRemaining());
+    }
+
+
+    @Test
+    public void testCorruptedInput() throws Exception {
+        ByteBuffer encoded = new NumberListImpl("3404").encode();
+        encoded.put(0, (byte) 17);
+        try {
+            NumberListImpl.decode(encoded);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        ByteBuffer binary = new NumberListImpl("15").changeScale().encode();
+        binary.put(5, (byte) 0x23);
+        try {
+            NumberListImpl.decode(binary);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        byte[] stream = serialize(new NumberListImpl("15").changeScale());
+        stream[stream.length - 2] = (byte) 0x23;
+        try {
+            deserialize(stream);
+            fail();
+        } catch (InvalidObjectException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testForgedLengthIsRejected() throws Exception {
+        ByteBuffer forged = ByteBuffer.allocate(5).put((byte) 16).putInt(Integer.MAX_VALUE).flip();
+        try {
+            NumberListImpl.decode(forged);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        byte[] stream = serialize(new NumberListImpl("3404"));
+        int at = indexOf(stream, new byte[] {16, 0, 0, 0, 3});
+        stream[at + 1] = 0x7F;
+        stream[at + 2] = (byte) 0xFF;
+        stream[at + 3] = (byte) 0xFF;
+        stream[at + 4] = (byte) 0xFF;
+        try {
+            deserialize(stream);
+            fail();
+        } catch (InvalidObjectException e) {
+            // expected
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(data, i, i + pattern.length), pattern)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Pattern not found");
+    }
+
+    private static byte[] serialize(Object o) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+}
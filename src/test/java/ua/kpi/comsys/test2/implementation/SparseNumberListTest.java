@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SparseNumberListTest {
+
+    static BigInteger SPARSE = BigInteger.ONE.shiftLeft(4000).add(BigInteger.ONE.shiftLeft(1234)).add(BigInteger.TEN);
+
+    @Test
+    public void testPowerSum() {
+        SparseNumberList list = new SparseNumberList(SPARSE.toString());
+
+        assertEquals(SPARSE.toString(), list.toDecimalString());
+        assertTrue(list.nonZeroCount() <= 3);
+        assertEquals(new NumberListImpl(SPARSE.toString()), list);
+    }
+
+    @Test
+    public void testCompact() {
+        assertTrue(SparseNumberList.compact(new NumberListImpl(SPARSE.toString())) instanceof SparseNumberList);
+        assertTrue(SparseNumberList.compact(new NumberListImpl("1212144468782345613")) instanceof NumberListImpl);
+    }
+
+    @Test
+    public void testMultiply() {
+        SparseNumberList list = new SparseNumberList(SPARSE.toString());
+        BigInteger factor = new BigInteger("1212144468782345613").pow(20);
+
+        NumberListImpl product = list.multiply(new NumberListImpl(factor.toString()));
+
+        assertEquals(SPARSE.multiply(factor).toString(), product.toDecimalString());
+        assertEquals(new NumberListImpl(SPARSE.toString()).additionalOperation(new NumberListImpl(factor.toString())),
+                product);
+    }
+
+    @Test
+    public void testRandomEditsAndShifts() {
+        Random random = new Random(3404);
+        SparseNumberList list = new SparseNumberList();
+        List<Byte> model = new ArrayList<>();
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(7);
+            byte digit = (byte) (random.nextInt(4) == 0 ? random.nextInt(16) : 0);
+            if (op < 2 || model.isEmpty()) {
+                int index = random.nextInt(model.size() + 1);
+                list.add(index, digit);
+                model.add(index, digit);
+            } else if (op == 2) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.remove(index), list.remove(index));
+            } else if (op == 3) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.set(index, digit), list.set(index, digit));
+            } else if (op == 4) {
+                list.shiftLeft();
+                if (model.size() > 1) {
+                    Collections.rotate(model, -1);
+                }
+            } else if (op == 5) {
+                list.shiftRight();
+                if (model.size() > 1) {
+                    Collections.rotate(model, 1);
+                }
+            } else {
+                int index = random.nextInt(model.size());
+                assertEquals(model.get(index), list.get(index));
+            }
+        }
+
+        assertEquals(model, new ArrayList<>(list));
+    }
+
+    @Test
+    public void testStorageFollowsDensity() {
+        SparseNumberList list = new SparseNumberList(SPARSE.toString());
+        NumberListImpl expected = new NumberListImpl(SPARSE.toString());
+        assertFalse(list.isDense());
+
+        for (int i = 0; i < list.size(); i += 4) {
+            list.set(i, (byte) 7);
+            expected.set(i, (byte) 7);
+        }
+        assertTrue(list.isDense());
+        assertEquals(expected.toString(), list.toString());
+
+        for (int i = 0; i < list.size(); i++) {
+            list.set(i, (byte) 0);
+            expected.set(i, (byte) 0);
+        }
+        list.set(list.size() - 1, (byte) 1);
+        expected.set(expected.size() - 1, (byte) 1);
+        assertFalse(list.isDense());
+        assertEquals(1, list.nonZeroCount());
+        assertEquals(expected.toString(), list.toString());
+
+        assertTrue(new SparseNumberList("1212144468782345613121214446878234561312121444687823456131212").isDense());
+    }
+
+    @Test
+    public void testSort() {
+        SparseNumberList list = new SparseNumberList(SPARSE.toString());
+        NumberListImpl expected = new NumberListImpl(SPARSE.toString());
+
+        list.sortAscending();
+        expected.sortAscending();
+        assertEquals(expected.toString(), list.toString());
+
+        list.sortDescending();
+        expected.sortDescending();
+        assertEquals(expected.toString(), list.toString());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2014-2015, NTUU KPI, Computer systems department and/or its affiliates. All rights reserved.
+ * NTUU KPI PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ */
+
+package ua.kpi.comsys.test2.implementation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UnrolledNumberListTest {
+
+    static String DECIMAL = "1212144468782345613";
+
+    @Test
+    public void testSameNumberAsNumberListImpl() {
+        UnrolledNumberList list = new UnrolledNumberList(DECIMAL);
+        NumberListImpl expected = new NumberListImpl(DECIMAL);
+
+        assertEquals(expected.toString(), list.toString());
+        assertEquals(DECIMAL, list.toDecimalString());
+        assertEquals(expected, list);
+        assertEquals(list, expected);
+        assertEquals(expected.additionalOperation(expected), expected.additionalOperation(list));
+    }
+
+    @Test
+    public void testConversion() {
+        NumberListImpl source = new NumberListImpl("987654321123456789012345678901234567890");
+        UnrolledNumberList list = UnrolledNumberList.of(source);
+
+        assertEquals(source.toString(), list.toNumberListImpl().toString());
+    }
+
+    @Test
+    public void testBlocksSplitAndMerge() {
+        UnrolledNumberList list = new UnrolledNumberList();
+        for (int i = 0; i < 1000; i++) {
+            list.add(list.size() / 2, (byte) (i % 16));
+        }
+        assertTrue(list.blockCount() >= 1000 / UnrolledNumberList.BLOCK_CAPACITY);
+
+        while (list.size() > 10) {
+            list.remove(list.size() / 3);
+        }
+        assertTrue("Sparse blocks are not merged", list.blockCount() <= 2);
+    }
+
+    @Test
+    public void testRandomEditsAndShifts() {
+        Random random = new Random(3404);
+        UnrolledNumberList list = new UnrolledNumberList();
+        List<Byte> model = new ArrayList<>();
+        for (int step = 0; step < 20000; step++) {
+            int op = random.nextInt(10);
+            if (op < 4 || model.isEmpty()) {
+                int index = random.nextInt(model.size() + 1);
+                byte digit = (byte) random.nextInt(16);
+                list.add(index, digit);
+                model.add(index, digit);
+            } else if (op < 6) {
+                int index = random.nextInt(model.size());
+                assertEquals(model.remove(index), list.remove(index));
+            } else if (op == 6) {
+                int index = random.nextInt(model.size());
+                byte digit = (byte) random.nextInt(16);
+                assertEquals(model.set(index, digit), list.set(index, digit));
+            } else if (op == 7) {
+                list.shiftLeft();
+                if (model.size() > 1) {
+                    Collections.rotate(model, -1);
+                }
+            } else if (op == 8) {
+                list.shiftRight();
+                if (model.size() > 1) {
+                    Collections.rotate(model, 1);
+                }
+            } else {
+                int index = random.nextInt(model.size());
+                assertEquals(model.get(index), list.get(index));
+            }
+        }
+
+        assertEquals(model, new ArrayList<>(list));
+    }
+
+    @Test
+    public void testSort() {
+        UnrolledNumberList list = new UnrolledNumberList(DECIMAL);
+        NumberListImpl expected = new NumberListImpl(DECIMAL);
+        list.shiftLeft();
+        list.sortAscending();
+        expected.sortAscending();
+        assertEquals(expected.toString(), list.toString());
+
+        list.sortDescending();
+        expected.sortDescending();
+        assertEquals(expected.toString(), list.toString());
+    }
+
+    @Test
+    public void testInvalidDigit() {
+        UnrolledNumberList list = new UnrolledNumberList();
+
+        assertTrue(!list.add((byte) 16));
+        assertEquals(0, list.size());
+    }
+}